@@ -0,0 +1,40 @@
+package com.cm.todoapi.todo.benchmark;
+
+import com.cm.todoapi.todo.model.Todo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+final class TodoFixtures {
+
+    private TodoFixtures() {
+    }
+
+    static Todo todo(int id) {
+        return new Todo(id, "Todo " + id, "Description of todo number " + id, id % 3 == 0,
+                LocalDate.of(2022, 1, 1).plusDays(id % 365));
+    }
+
+    static Todo newTodo(int seed) {
+        Todo todo = todo(seed);
+        todo.setId(null);
+        return todo;
+    }
+
+    static List<Todo> todos(int size) {
+        List<Todo> todos = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            todos.add(todo(id));
+        }
+        return todos;
+    }
+
+    static List<Todo> newTodos(int size) {
+        List<Todo> todos = new ArrayList<>(size);
+        for (int seed = 1; seed <= size; seed++) {
+            todos.add(newTodo(seed));
+        }
+        return todos;
+    }
+}
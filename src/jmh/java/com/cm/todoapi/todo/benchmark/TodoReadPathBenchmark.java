@@ -0,0 +1,98 @@
+package com.cm.todoapi.todo.benchmark;
+
+import com.cm.todoapi.TodoApiApplication;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoFilter;
+import com.cm.todoapi.todo.model.TodoView;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import com.cm.todoapi.todo.repository.TodoViewRepository;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TodoReadPathBenchmark {
+
+    @Param({"10000"})
+    int rows;
+
+    @Param({"50", "500"})
+    int pageSize;
+
+    ConfigurableApplicationContext context;
+    TodoRepository todoRepository;
+    TodoViewRepository todoViewRepository;
+    EntityManager entityManager;
+    TransactionTemplate readOnly;
+    ObjectWriter entityWriter;
+    ObjectWriter viewWriter;
+    TodoFilter filter;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:read-path;DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cache.type=none",
+                        "--todo.outbox.sink=memory",
+                        "--logging.level.root=WARN");
+        todoRepository = context.getBean(TodoRepository.class);
+        todoViewRepository = context.getBean(TodoViewRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        entityWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Todo.class));
+        viewWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TodoView.class));
+        filter = new TodoFilter();
+        for (int from = 0; from < rows; from += 1000) {
+            todoRepository.saveAll(TodoFixtures.newTodos(Math.min(1000, rows - from)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Todo> entityPage() {
+        return readOnly.execute(status -> entityManager.createQuery("SELECT t FROM Todo t WHERE t.ownerId = :ownerId ORDER BY t.id", Todo.class)
+                .setParameter("ownerId", TenantContext.current())
+                .setMaxResults(pageSize)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<TodoView> projectionPage() {
+        return readOnly.execute(status -> todoViewRepository.findPage(TenantContext.current(), filter, null, pageSize));
+    }
+
+    @Benchmark
+    public byte[] entityPageAsJson() throws IOException {
+        return entityWriter.writeValueAsBytes(entityPage());
+    }
+
+    @Benchmark
+    public byte[] projectionPageAsJson() throws IOException {
+        return viewWriter.writeValueAsBytes(projectionPage());
+    }
+}
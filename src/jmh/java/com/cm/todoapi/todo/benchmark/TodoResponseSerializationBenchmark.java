@@ -0,0 +1,43 @@
+package com.cm.todoapi.todo.benchmark;
+
+import com.cm.todoapi.todo.response.TodoResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoResponseSerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    int size;
+
+    ObjectMapper objectMapper;
+    TodoResponse response;
+    byte[] serialized;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        response = new TodoResponse(TodoFixtures.todos(size), null);
+        serialized = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public TodoResponse deserialize() throws IOException {
+        return objectMapper.readValue(serialized, TodoResponse.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.cm.todoapi.todo.benchmark;
+
+import com.cm.todoapi.TodoApiApplication;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoFilter;
+import com.cm.todoapi.todo.model.TodoPage;
+import com.cm.todoapi.todo.model.TodoView;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import com.cm.todoapi.todo.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    TodoService todoService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cache.type=none",
+                        "--todo.outbox.sink=memory",
+                        "--logging.level.root=WARN");
+        todoService = context.getBean(TodoService.class);
+        TodoRepository todoRepository = context.getBean(TodoRepository.class);
+        for (int from = 0; from < rows; from += 1000) {
+            todoRepository.saveAll(TodoFixtures.newTodos(Math.min(1000, rows - from)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TodoPage<TodoView> getFirstPage() {
+        return todoService.getTodoPage(new TodoFilter(), null, 50);
+    }
+
+    @Benchmark
+    public TodoPage<TodoView> getFilteredPage() {
+        return todoService.getTodoPage(new TodoFilter(true, null, null), null, 50);
+    }
+
+    @Benchmark
+    public Todo getTodoById() {
+        return todoService.getTodoById(randomId());
+    }
+
+    @Benchmark
+    public Todo updateTodoById() {
+        int id = randomId();
+        return todoService.updateTodoById(id, TodoFixtures.todo(id), null);
+    }
+
+    @Benchmark
+    public Todo createNewTodo() {
+        return todoService.createNewTodo(TodoFixtures.newTodo(randomId()));
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(1, rows + 1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.cm.todoapi.todo.benchmark;
+
+import com.cm.todoapi.todo.model.Todo;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TodoValidationBenchmark {
+
+    ValidatorFactory validatorFactory;
+    Validator validator;
+    Todo validTodo;
+    Todo invalidTodo;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validTodo = TodoFixtures.todo(1);
+        invalidTodo = new Todo(null, null, null, false, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Todo>> validateValidTodo() {
+        return validator.validate(validTodo);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Todo>> validateInvalidTodo() {
+        return validator.validate(invalidTodo);
+    }
+}
@@ -0,0 +1,71 @@
+package com.cm.todoapi.todo.benchmark;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.response.TodoResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoWireFormatBenchmark {
+    private static final TypeReference<TodoResponse<List<Todo>>> LIST_RESPONSE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    @Param({"1", "50", "500"})
+    int size;
+
+    ObjectMapper objectMapper;
+    ObjectWriter typedWriter;
+    ObjectReader typedReader;
+    TodoResponse<List<Todo>> response;
+    byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        typedWriter = objectMapper.writerFor(LIST_RESPONSE);
+        typedReader = objectMapper.readerFor(LIST_RESPONSE);
+        response = new TodoResponse<>(TodoFixtures.todos(size), null);
+        encoded = typedWriter.writeValueAsBytes(response);
+        System.out.printf("%n%s encoding of %d todos: %d bytes%n", format, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return typedWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeUntyped() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public TodoResponse<List<Todo>> decode() throws IOException {
+        return typedReader.readValue(encoded);
+    }
+}
@@ -0,0 +1,44 @@
+package com.cm.todoapi.todo.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ExecutionModeLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 1000);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+        int rows = Integer.getInteger("load.rows", 10000);
+
+        List<LoadResult> results = new ArrayList<>();
+        for (String mode : List.of("platform", "virtual")) {
+            try (ConfigurableApplicationContext context = TodoApplicationLauncher.start(Map.of("todo.execution.mode", mode, "todo.admission.enabled", "false"))) {
+                TodoApplicationLauncher.seed(context, rows);
+                String baseUrl = "http://localhost:" + TodoApplicationLauncher.port(context) + "/api/todo";
+                HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+                LoadDriver driver = new LoadDriver(client);
+
+                driver.run(mode + "-warmup", concurrency, Duration.ofSeconds(5), () -> request(baseUrl, rows));
+                results.add(driver.run(mode, concurrency, duration, () -> request(baseUrl, rows)));
+            }
+        }
+        LoadReport.write("execution-modes", results);
+    }
+
+    private static HttpRequest request(String baseUrl, int rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        URI uri = random.nextBoolean()
+                ? URI.create(baseUrl + "?completed=" + random.nextBoolean() + "&size=50")
+                : URI.create(baseUrl + "/" + random.nextInt(1, rows + 1));
+        return HttpRequest.newBuilder(uri).GET().build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.cm.todoapi.todo.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+final class LoadDriver {
+    private final HttpClient client;
+
+    LoadDriver(HttpClient client) {
+        this.client = client;
+    }
+
+    LoadResult run(String name, int concurrency, Duration duration, Supplier<HttpRequest> requests) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        List<Future<long[]>> workers = new ArrayList<>();
+        long[] errors = new long[concurrency];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                int index = worker;
+                workers.add(executor.submit(() -> {
+                    LongList latencies = new LongList();
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(requests.get(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors[index]++;
+                            }
+                        } catch (Exception exception) {
+                            errors[index]++;
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                    return latencies.toArray();
+                }));
+            }
+            LongList all = new LongList();
+            for (Future<long[]> worker : workers) {
+                all.addAll(worker.get());
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            long totalErrors = 0;
+            for (long count : errors) {
+                totalErrors += count;
+            }
+            return LoadResult.of(name, all.toArray(), totalErrors, elapsedSeconds);
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(long[] other) {
+            for (long value : other) {
+                add(value);
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.cm.todoapi.todo.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    static Path write(String name, List<LoadResult> results) throws IOException {
+        results.forEach(result -> System.out.println(result.summary()));
+        return writeJson(name, results);
+    }
+
+    static Path writeJson(String name, Object value) throws IOException {
+        Path report = file(name + ".json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(report.toFile(), value);
+        System.out.println("Report written to " + report.toAbsolutePath());
+        return report;
+    }
+
+    static Path file(String fileName) throws IOException {
+        Path directory = Path.of(System.getProperty("load.reportDir", "build/reports/load"));
+        Files.createDirectories(directory);
+        return directory.resolve(fileName);
+    }
+}
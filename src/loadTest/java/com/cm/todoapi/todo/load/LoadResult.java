@@ -0,0 +1,28 @@
+package com.cm.todoapi.todo.load;
+
+import java.util.Arrays;
+
+record LoadResult(String name, long requests, long errors, double throughputPerSecond,
+                  double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+    static LoadResult of(String name, long[] latenciesNanos, long errors, double elapsedSeconds) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        return new LoadResult(name, sorted.length, errors, sorted.length / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    String summary() {
+        return String.format("%-24s %10d req %6d err %10.1f req/s  p50 %8.2fms  p99 %8.2fms  p99.9 %8.2fms  max %8.2fms",
+                name, requests, errors, throughputPerSecond, p50Millis, p99Millis, p999Millis, maxMillis);
+    }
+}
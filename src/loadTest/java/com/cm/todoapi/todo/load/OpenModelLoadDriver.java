@@ -0,0 +1,156 @@
+package com.cm.todoapi.todo.load;
+
+import com.cm.todoapi.todo.load.WorkloadMix.Operation;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Sends requests at a fixed arrival rate whether or not earlier ones have completed. Response time
+ * is measured from when a request was due to be sent, so a stalled server is charged for the
+ * requests queued behind the stall instead of hiding them. Service time, from when the request
+ * actually went out, is recorded alongside for comparison.
+ */
+final class OpenModelLoadDriver {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final HttpClient client;
+    private final int maxInFlight;
+
+    OpenModelLoadDriver(HttpClient client, int maxInFlight) {
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+    }
+
+    Run run(String name, double ratePerSecond, Duration duration, Supplier<Operation> operations, Function<Operation, HttpRequest> requests) throws InterruptedException {
+        Map<Operation, Recorded> recorded = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorded.put(operation, new Recorded());
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double intervalNanos = 1_000_000_000.0 / ratePerSecond;
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (long sequence = 0; ; sequence++) {
+            long intended = start + (long) (sequence * intervalNanos);
+            if (intended >= deadline) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = operations.get();
+            Recorded target = recorded.get(operation);
+            HttpRequest request = requests.apply(operation);
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                long completed = System.nanoTime();
+                target.record(completed - intended, completed - sent, failure == null && response.statusCode() < 400);
+                inFlight.release();
+            });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, 1, TimeUnit.MINUTES)) {
+            System.out.println(name + ": " + (maxInFlight - inFlight.availablePermits()) + " requests still in flight after a minute, reporting without them");
+        }
+        return new Run(name, ratePerSecond, (System.nanoTime() - start) / 1_000_000_000.0, recorded);
+    }
+
+    static final class Recorded {
+        final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        final AtomicLong errors = new AtomicLong();
+
+        void record(long responseNanos, long serviceNanos, boolean succeeded) {
+            responseTime.recordValue(Math.min(responseNanos, HIGHEST_TRACKABLE_NANOS));
+            serviceTime.recordValue(Math.min(serviceNanos, HIGHEST_TRACKABLE_NANOS));
+            if (!succeeded) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    record Run(String name, double targetRatePerSecond, double elapsedSeconds, Map<Operation, Recorded> recorded) {
+
+        List<OperationResult> results() {
+            List<OperationResult> results = new ArrayList<>();
+            Recorded all = new Recorded();
+            recorded.forEach((operation, values) -> {
+                if (values.responseTime.getTotalCount() > 0) {
+                    results.add(OperationResult.of(operation.name().toLowerCase(Locale.ROOT), values, elapsedSeconds));
+                }
+                all.responseTime.add(values.responseTime);
+                all.serviceTime.add(values.serviceTime);
+                all.errors.addAndGet(values.errors.get());
+            });
+            results.add(OperationResult.of("all", all, elapsedSeconds));
+            return results;
+        }
+
+        void writeHistograms() throws IOException {
+            Histogram responseTime = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            Histogram serviceTime = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            for (Map.Entry<Operation, Recorded> entry : recorded.entrySet()) {
+                if (entry.getValue().responseTime.getTotalCount() > 0) {
+                    write(name + "-" + entry.getKey().name().toLowerCase(Locale.ROOT) + "-response-time.hgrm", entry.getValue().responseTime);
+                }
+                responseTime.add(entry.getValue().responseTime);
+                serviceTime.add(entry.getValue().serviceTime);
+            }
+            write(name + "-response-time.hgrm", responseTime);
+            write(name + "-service-time.hgrm", serviceTime);
+        }
+
+        private static void write(String fileName, Histogram histogram) throws IOException {
+            try (PrintStream out = new PrintStream(LoadReport.file(fileName).toFile())) {
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+    }
+
+    record OperationResult(String operation, long requests, long errors, double throughputPerSecond,
+                           Percentiles responseTimeMillis, Percentiles serviceTimeMillis) {
+
+        static OperationResult of(String operation, Recorded recorded, double elapsedSeconds) {
+            long requests = recorded.responseTime.getTotalCount();
+            return new OperationResult(operation, requests, recorded.errors.get(), requests / elapsedSeconds,
+                    Percentiles.of(recorded.responseTime), Percentiles.of(recorded.serviceTime));
+        }
+
+        String summary() {
+            return String.format("%-8s %10d req %6d err %10.1f req/s  response p50 %8.2fms  p99 %8.2fms  p99.9 %8.2fms  max %8.2fms  service p99 %8.2fms",
+                    operation, requests, errors, throughputPerSecond, responseTimeMillis.p50(), responseTimeMillis.p99(),
+                    responseTimeMillis.p999(), responseTimeMillis.max(), serviceTimeMillis.p99());
+        }
+    }
+
+    record Percentiles(double p50, double p90, double p99, double p999, double p9999, double max) {
+
+        static Percentiles of(Histogram histogram) {
+            return new Percentiles(millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                    millis(histogram, 99.9), millis(histogram, 99.99), histogram.getMaxValue() / 1_000_000.0);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+        }
+    }
+}
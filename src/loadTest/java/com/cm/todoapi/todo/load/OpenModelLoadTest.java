@@ -0,0 +1,110 @@
+package com.cm.todoapi.todo.load;
+
+import com.cm.todoapi.todo.load.OpenModelLoadDriver.OperationResult;
+import com.cm.todoapi.todo.load.WorkloadMix.Operation;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+
+public class OpenModelLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "5000"));
+        int concurrency = Integer.getInteger("load.concurrency", 1000);
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 60));
+        int rows = Integer.getInteger("load.rows", 10000);
+        long seed = Long.getLong("load.seed", 42);
+        WorkloadMix mix = WorkloadMix.of(System.getProperty("load.profile", "read-heavy"));
+        if (rows < 2) {
+            throw new IllegalArgumentException("Set -Pload.rows to at least 2, half of the rows are kept for deletes");
+        }
+
+        try (ConfigurableApplicationContext context = TodoApplicationLauncher.start(Map.of("todo.admission.enabled", "false"))) {
+            TodoApplicationLauncher.seed(context, rows);
+            String baseUrl = "http://localhost:" + TodoApplicationLauncher.port(context) + "/api/todo";
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            Workload workload = new Workload(baseUrl, rows, new SplittableRandom(seed));
+            OpenModelLoadDriver driver = new OpenModelLoadDriver(client, concurrency);
+
+            driver.run(mix.name() + "-warmup", rate, warmup, () -> mix.next(workload.random), workload::request);
+            OpenModelLoadDriver.Run run = driver.run("open-model-" + mix.name(), rate, duration, () -> mix.next(workload.random), workload::request);
+
+            List<OperationResult> results = run.results();
+            results.forEach(result -> System.out.println(result.summary()));
+            if (workload.deletesPastDataset > 0) {
+                System.out.println(workload.deletesPastDataset + " deletes ran out of seeded rows and were counted as errors, raise -Pload.rows");
+            }
+            LoadReport.writeJson(run.name(), new Report(mix.name(), mix.weights(), rate, concurrency, rows, seed, run.elapsedSeconds(), results));
+            run.writeHistograms();
+        }
+    }
+
+    record Report(String profile, Map<Operation, Integer> weights, double targetRatePerSecond, int maxInFlight, int rows, long seed,
+                  double elapsedSeconds, List<OperationResult> operations) {
+    }
+
+    private static final class Workload {
+        private final String baseUrl;
+        private final int rows;
+        private final int kept;
+        private final SplittableRandom random;
+        private int nextDelete;
+        private long deletesPastDataset;
+
+        Workload(String baseUrl, int rows, SplittableRandom random) {
+            this.baseUrl = baseUrl;
+            this.rows = rows;
+            this.kept = rows / 2;
+            this.random = random;
+            this.nextDelete = kept + 1;
+        }
+
+        HttpRequest request(Operation operation) {
+            return switch (operation) {
+                case LIST -> HttpRequest.newBuilder(URI.create(random.nextBoolean()
+                        ? baseUrl
+                        : baseUrl + "?completed=" + random.nextBoolean() + "&size=50")).GET().build();
+                case GET -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + keptId())).GET().build();
+                case CREATE -> HttpRequest.newBuilder(URI.create(baseUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body()))
+                        .build();
+                case UPDATE -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + keptId()))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(body()))
+                        .build();
+                case DELETE -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + deleteId())).DELETE().build();
+            };
+        }
+
+        private int keptId() {
+            return random.nextInt(1, kept + 1);
+        }
+
+        private int deleteId() {
+            if (nextDelete > rows) {
+                deletesPastDataset++;
+                return rows;
+            }
+            return nextDelete++;
+        }
+
+        private String body() {
+            int number = random.nextInt(1_000_000);
+            return String.format("{\"title\":\"Todo %d\",\"description\":\"Description of todo number %d\",\"completed\":%b,\"createdAt\":\"%s\"}",
+                    number, number, number % 3 == 0, LocalDate.of(2022, 1, 1).plusDays(number % 365));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.cm.todoapi.todo.load;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class PartitionRangeQueryLoadTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2021, 1, 1);
+    private static final int MONTHS = 36;
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("spring.datasource.url", "");
+        if (!url.startsWith("jdbc:postgresql:")) {
+            throw new IllegalArgumentException("Set -Pspring.datasource.url to a PostgreSQL database, partitioning is PostgreSQL only");
+        }
+        int rows = Integer.getInteger("load.rows", 1_000_000);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("spring.datasource.username", "postgres"), System.getProperty("spring.datasource.password", "postgres"))) {
+            createTables(connection, rows);
+
+            List<LoadResult> results = new ArrayList<>();
+            for (String table : List.of("todo_range_flat", "todo_range_partitioned")) {
+                String page = "SELECT id, title, description, completed, created_at, version FROM " + table
+                        + " WHERE deleted_at IS NULL AND created_at >= ? AND created_at < ? ORDER BY id LIMIT 51";
+                String count = "SELECT count(*) FROM " + table + " WHERE deleted_at IS NULL AND created_at >= ? AND created_at < ?";
+                run(connection, table + "-page-warmup", page, Duration.ofSeconds(5));
+                results.add(run(connection, table + "-page", page, duration));
+                run(connection, table + "-count-warmup", count, Duration.ofSeconds(5));
+                results.add(run(connection, table + "-count", count, duration));
+            }
+            LoadReport.write("partition-range-queries", results);
+        }
+    }
+
+    private static void createTables(Connection connection, int rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS todo_range_flat, todo_range_partitioned");
+            String columns = "(id INTEGER NOT NULL, title VARCHAR(255), description VARCHAR(255), completed BOOLEAN, "
+                    + "created_at DATE NOT NULL, version BIGINT NOT NULL, deleted_at TIMESTAMP, PRIMARY KEY (id, created_at))";
+            statement.execute("CREATE TABLE todo_range_flat " + columns);
+            statement.execute("CREATE TABLE todo_range_partitioned " + columns + " PARTITION BY RANGE (created_at)");
+            for (int month = 0; month < MONTHS; month++) {
+                LocalDate from = FIRST_DAY.plusMonths(month);
+                statement.execute(String.format("CREATE TABLE todo_range_partitioned_%d PARTITION OF todo_range_partitioned FOR VALUES FROM ('%s') TO ('%s')",
+                        month, from, from.plusMonths(1)));
+            }
+            for (String table : List.of("todo_range_flat", "todo_range_partitioned")) {
+                statement.execute("INSERT INTO " + table + " SELECT g, 'Todo ' || g, 'Description of todo number ' || g, g % 3 = 0, "
+                        + "DATE '" + FIRST_DAY + "' + (g % " + (MONTHS * 365 / 12) + "), 0, NULL FROM generate_series(1, " + rows + ") g");
+                statement.execute("CREATE INDEX ON " + table + " (created_at, id) WHERE deleted_at IS NULL");
+                statement.execute("CREATE INDEX ON " + table + " (id) WHERE deleted_at IS NULL");
+                statement.execute("ANALYZE " + table);
+            }
+        }
+    }
+
+    private static LoadResult run(Connection connection, String name, String sql, Duration duration) throws SQLException {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            while (System.nanoTime() < deadline) {
+                LocalDate from = FIRST_DAY.plusMonths(ThreadLocalRandom.current().nextInt(MONTHS));
+                query.setDate(1, Date.valueOf(from));
+                query.setDate(2, Date.valueOf(from.plusMonths(1)));
+                long sent = System.nanoTime();
+                try (ResultSet result = query.executeQuery()) {
+                    while (result.next()) {
+                        result.getInt(1);
+                    }
+                } catch (SQLException exception) {
+                    errors++;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - sent;
+            }
+        }
+        return LoadResult.of(name, Arrays.copyOf(latencies, count), errors, (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
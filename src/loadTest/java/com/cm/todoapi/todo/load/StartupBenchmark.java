@@ -0,0 +1,195 @@
+package com.cm.todoapi.todo.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class StartupBenchmark {
+    private static final String MAIN_CLASS = "com.cm.todoapi.TodoApiApplication";
+    private static final String LAZY_PROFILE = "--spring.profiles.active=fast-startup";
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        Path libDir = Path.of(System.getProperty("startup.libDir", "build/startup/lib"));
+        Path archive = Path.of(System.getProperty("startup.archive", "build/startup/todo-api.jsa"));
+        String classpath = classpath(libDir);
+
+        if (Boolean.getBoolean("startup.train")) {
+            train(classpath, archive);
+            return;
+        }
+
+        Map<String, Mode> modes = new LinkedHashMap<>();
+        modes.put("jvm", new Mode(List.of(), List.of()));
+        modes.put("jvm-lazy", new Mode(List.of(), List.of(LAZY_PROFILE)));
+        if (Files.exists(archive)) {
+            String sharedArchive = "-XX:SharedArchiveFile=" + archive.toAbsolutePath();
+            modes.put("cds", new Mode(List.of(sharedArchive), List.of()));
+            modes.put("cds-lazy", new Mode(List.of(sharedArchive), List.of(LAZY_PROFILE)));
+        } else {
+            System.out.println("No CDS archive at " + archive.toAbsolutePath() + ", run the cdsArchive task to include the CDS modes");
+        }
+
+        int runs = Integer.getInteger("startup.runs", 5);
+        List<StartupResult> results = new ArrayList<>();
+        for (Map.Entry<String, Mode> mode : modes.entrySet()) {
+            start(classpath, mode.getValue()).stop();
+            long[] readyMillis = new long[runs];
+            long[] rssKilobytes = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                Started started = start(classpath, mode.getValue());
+                readyMillis[run] = started.readyMillis();
+                rssKilobytes[run] = started.rssKilobytes();
+                started.stop();
+            }
+            StartupResult result = StartupResult.of(mode.getKey(), readyMillis, rssKilobytes);
+            System.out.println(result.summary());
+            results.add(result);
+        }
+        LoadReport.writeJson("startup-modes", results);
+    }
+
+    private static void train(String classpath, Path archive) throws Exception {
+        Files.deleteIfExists(archive);
+        Files.createDirectories(archive.toAbsolutePath().getParent());
+        Started started = start(classpath, new Mode(List.of("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath()), List.of()));
+        String baseUrl = "http://localhost:" + started.port() + "/api/todo";
+        HttpClient client = HttpClient.newHttpClient();
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Train\",\"description\":\"CDS training run\",\"completed\":false,\"createdAt\":\"2022-01-01\"}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        for (String path : List.of("", "/1", "/stats", "/search?q=train", "/export")) {
+            client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(), HttpResponse.BodyHandlers.discarding());
+        }
+        started.stop();
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("The training run exited without writing " + archive.toAbsolutePath() + ", see the startup log");
+        }
+        System.out.println("CDS archive written to " + archive.toAbsolutePath() + " (" + Files.size(archive) / 1024 / 1024 + " MB)");
+    }
+
+    private static Started start(String classpath, Mode mode) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(mode.jvmOptions());
+        command.add("-cp");
+        command.add(classpath);
+        command.add(MAIN_CLASS);
+        command.addAll(Arrays.asList(TodoApplicationLauncher.arguments(Map.of(
+                "server.port", Integer.toString(port),
+                "todo.admission.enabled", "false"))));
+        command.addAll(mode.arguments());
+
+        Path log = Path.of(System.getProperty("load.reportDir", "build/reports/load")).resolve("startup.log");
+        Files.createDirectories(log.getParent());
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                .start();
+        awaitFirstResponse(process, port);
+        long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+        return new Started(process, port, readyMillis, rssKilobytes(process.pid()));
+    }
+
+    private static void awaitFirstResponse(Process process, int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/todo")).GET().build();
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("The application exited with " + process.exitValue() + " before it was ready, see the startup log");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException exception) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("The application was not ready within " + READY_TIMEOUT);
+    }
+
+    private static long rssKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(-1L);
+        }
+    }
+
+    private static String classpath(Path libDir) throws IOException {
+        try (Stream<Path> jars = Files.list(libDir)) {
+            String classpath = jars.filter(jar -> jar.toString().endsWith(".jar"))
+                    .sorted()
+                    .map(jar -> jar.toAbsolutePath().toString())
+                    .collect(Collectors.joining(File.pathSeparator));
+            if (classpath.isEmpty()) {
+                throw new IllegalArgumentException("No jars in " + libDir.toAbsolutePath() + ", run the startupClasspath task first");
+            }
+            return classpath;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Mode(List<String> jvmOptions, List<String> arguments) {
+    }
+
+    private record Started(Process process, int port, long readyMillis, long rssKilobytes) {
+
+        void stop() throws InterruptedException {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    record StartupResult(String name, int runs, long medianReadyMillis, long minReadyMillis, long maxReadyMillis, double medianRssMegabytes) {
+
+        static StartupResult of(String name, long[] readyMillis, long[] rssKilobytes) {
+            long[] ready = readyMillis.clone();
+            long[] rss = rssKilobytes.clone();
+            Arrays.sort(ready);
+            Arrays.sort(rss);
+            return new StartupResult(name, ready.length, ready[ready.length / 2], ready[0], ready[ready.length - 1],
+                    rss[rss.length / 2] < 0 ? -1 : rss[rss.length / 2] / 1024.0);
+        }
+
+        String summary() {
+            return String.format("%-12s %3d runs  ready median %6dms  min %6dms  max %6dms  rss median %8.1fMB",
+                    name, runs, medianReadyMillis, minReadyMillis, maxReadyMillis, medianRssMegabytes);
+        }
+    }
+}
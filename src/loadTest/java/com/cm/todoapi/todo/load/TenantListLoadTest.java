@@ -0,0 +1,88 @@
+package com.cm.todoapi.todo.load;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class TenantListLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("spring.datasource.url", "");
+        if (!url.startsWith("jdbc:postgresql:")) {
+            throw new IllegalArgumentException("Set -Pspring.datasource.url to a PostgreSQL database");
+        }
+        int rows = Integer.getInteger("load.rows", 1_000_000);
+        int tenants = Integer.getInteger("load.tenants", 1000);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("spring.datasource.username", "postgres"), System.getProperty("spring.datasource.password", "postgres"))) {
+            createTables(connection, rows, tenants);
+
+            List<LoadResult> results = new ArrayList<>();
+            for (String table : List.of("todo_tenant_unscoped", "todo_tenant_scoped")) {
+                String page = "SELECT id, title, description, completed, created_at, version FROM " + table
+                        + " WHERE owner_id = ? AND deleted_at IS NULL ORDER BY id LIMIT 51";
+                String completedPage = "SELECT id, title, description, completed, created_at, version FROM " + table
+                        + " WHERE owner_id = ? AND completed AND deleted_at IS NULL ORDER BY id LIMIT 51";
+                run(connection, table + "-page-warmup", page, tenants, Duration.ofSeconds(5));
+                results.add(run(connection, table + "-page", page, tenants, duration));
+                run(connection, table + "-completed-warmup", completedPage, tenants, Duration.ofSeconds(5));
+                results.add(run(connection, table + "-completed", completedPage, tenants, duration));
+            }
+            LoadReport.write("tenant-list-queries", results);
+        }
+    }
+
+    private static void createTables(Connection connection, int rows, int tenants) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS todo_tenant_unscoped, todo_tenant_scoped");
+            for (String table : List.of("todo_tenant_unscoped", "todo_tenant_scoped")) {
+                statement.execute("CREATE TABLE " + table + " (id INTEGER PRIMARY KEY, owner_id VARCHAR(64) NOT NULL, title VARCHAR(255), "
+                        + "description VARCHAR(255), completed BOOLEAN, created_at DATE NOT NULL, version BIGINT NOT NULL, deleted_at TIMESTAMP)");
+                statement.execute("INSERT INTO " + table + " SELECT g, 'tenant-' || (g % " + tenants + "), 'Todo ' || g, "
+                        + "'Description of todo number ' || g, g % 3 = 0, DATE '2022-01-01' + (g % 365), 0, NULL FROM generate_series(1, " + rows + ") g");
+            }
+            statement.execute("CREATE INDEX ON todo_tenant_unscoped (id) WHERE deleted_at IS NULL");
+            statement.execute("CREATE INDEX ON todo_tenant_unscoped (completed, id) WHERE deleted_at IS NULL");
+            statement.execute("CREATE INDEX ON todo_tenant_scoped (owner_id, id) WHERE deleted_at IS NULL");
+            statement.execute("CREATE INDEX ON todo_tenant_scoped (owner_id, completed, id) WHERE deleted_at IS NULL");
+            statement.execute("ANALYZE todo_tenant_unscoped");
+            statement.execute("ANALYZE todo_tenant_scoped");
+        }
+    }
+
+    private static LoadResult run(Connection connection, String name, String sql, int tenants, Duration duration) throws SQLException {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            while (System.nanoTime() < deadline) {
+                query.setString(1, "tenant-" + ThreadLocalRandom.current().nextInt(tenants));
+                long sent = System.nanoTime();
+                try (ResultSet result = query.executeQuery()) {
+                    while (result.next()) {
+                        result.getInt(1);
+                    }
+                } catch (SQLException exception) {
+                    errors++;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - sent;
+            }
+        }
+        return LoadResult.of(name, Arrays.copyOf(latencies, count), errors, (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
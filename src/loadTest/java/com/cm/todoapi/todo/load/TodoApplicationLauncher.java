@@ -0,0 +1,57 @@
+package com.cm.todoapi.todo.load;
+
+import com.cm.todoapi.TodoApiApplication;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class TodoApplicationLauncher {
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "spring.datasource.url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+            "spring.datasource.username", "sa",
+            "spring.datasource.password", "",
+            "spring.flyway.enabled", "false",
+            "spring.jpa.hibernate.ddl-auto", "create-drop",
+            "spring.jpa.show-sql", "false",
+            "todo.outbox.sink", "memory",
+            "logging.level.root", "WARN");
+
+    private TodoApplicationLauncher() {
+    }
+
+    static ConfigurableApplicationContext start(Map<String, String> overrides) {
+        return new SpringApplicationBuilder(TodoApiApplication.class).run(arguments(overrides));
+    }
+
+    static String[] arguments(Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>(DEFAULTS);
+        properties.replaceAll((name, value) -> System.getProperty(name, value));
+        properties.put("server.port", "0");
+        properties.putAll(overrides);
+        return properties.entrySet().stream().map(entry -> "--" + entry.getKey() + "=" + entry.getValue()).toArray(String[]::new);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        TodoRepository todoRepository = context.getBean(TodoRepository.class);
+        List<Todo> chunk = new ArrayList<>();
+        for (int i = 1; i <= rows; i++) {
+            chunk.add(new Todo(null, "Todo " + i, "Description of todo number " + i, i % 3 == 0, LocalDate.of(2022, 1, 1).plusDays(i % 365)));
+            if (chunk.size() == 1000 || i == rows) {
+                todoRepository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.cm.todoapi.todo.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class TransportLoadTest {
+    private static final Map<String, Map<String, String>> MODES = new LinkedHashMap<>();
+
+    static {
+        MODES.put("http1-identity", Map.of("server.http2.enabled", "false", "server.compression.enabled", "false",
+                "todo.transport.precompress-first-page", "false"));
+        MODES.put("http1-gzip", Map.of("server.http2.enabled", "false", "server.compression.enabled", "true",
+                "todo.transport.precompress-first-page", "false"));
+        MODES.put("http1-gzip-precompressed", Map.of("server.http2.enabled", "false", "server.compression.enabled", "true",
+                "todo.transport.precompress-first-page", "true"));
+        MODES.put("h2c-gzip-precompressed", Map.of("server.http2.enabled", "true", "server.compression.enabled", "true",
+                "todo.transport.precompress-first-page", "true"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 200);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+        int rows = Integer.getInteger("load.rows", 10000);
+
+        List<LoadResult> results = new ArrayList<>();
+        Map<String, Map<String, Integer>> responseBytes = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, String>> mode : MODES.entrySet()) {
+            Map<String, String> overrides = new LinkedHashMap<>(mode.getValue());
+            overrides.put("todo.admission.enabled", "false");
+            overrides.put("server.compression.min-response-size", "2KB");
+            try (ConfigurableApplicationContext context = TodoApplicationLauncher.start(overrides)) {
+                TodoApplicationLauncher.seed(context, rows);
+                String baseUrl = "http://localhost:" + TodoApplicationLauncher.port(context) + "/api/todo";
+                HttpClient.Version version = mode.getKey().startsWith("h2c") ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+                HttpClient client = HttpClient.newBuilder().version(version).executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+                Map<String, Integer> sizes = new LinkedHashMap<>();
+                for (String path : List.of("", "?size=500", "/1")) {
+                    sizes.put(path.isEmpty() ? "first-page" : path, client.send(request(baseUrl + path), HttpResponse.BodyHandlers.ofByteArray()).body().length);
+                }
+                responseBytes.put(mode.getKey(), sizes);
+
+                LoadDriver driver = new LoadDriver(client);
+                driver.run(mode.getKey() + "-warmup", concurrency, Duration.ofSeconds(5), () -> request(baseUrl, rows));
+                results.add(driver.run(mode.getKey(), concurrency, duration, () -> request(baseUrl, rows)));
+            }
+        }
+        responseBytes.forEach((mode, sizes) -> System.out.println(mode + " response bytes " + sizes));
+        LoadReport.write("transport-modes", results);
+        LoadReport.writeJson("transport-response-bytes", responseBytes);
+    }
+
+    private static HttpRequest request(String baseUrl, int rows) {
+        int pick = ThreadLocalRandom.current().nextInt(10);
+        String path = pick < 5 ? "" : pick < 8 ? "?size=500" : "/" + ThreadLocalRandom.current().nextInt(1, rows + 1);
+        return request(baseUrl + path);
+    }
+
+    private static HttpRequest request(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).header("Accept-Encoding", "gzip").GET().build();
+    }
+}
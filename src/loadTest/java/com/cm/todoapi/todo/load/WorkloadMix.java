@@ -0,0 +1,56 @@
+package com.cm.todoapi.todo.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+record WorkloadMix(String name, Map<Operation, Integer> weights) {
+    private static final Map<String, String> PROFILES = Map.of(
+            "read-heavy", "list:60,get:30,create:5,update:4,delete:1",
+            "balanced", "list:30,get:30,create:20,update:15,delete:5",
+            "write-heavy", "list:10,get:10,create:40,update:30,delete:10");
+
+    enum Operation {
+        LIST, GET, CREATE, UPDATE, DELETE
+    }
+
+    static WorkloadMix of(String profile) {
+        String weights = PROFILES.get(profile);
+        if (weights != null) {
+            return parse(profile, weights);
+        }
+        if (profile.contains(":")) {
+            return parse("custom", profile);
+        }
+        throw new IllegalArgumentException("Unknown workload profile " + profile + ", use one of " + PROFILES.keySet() + " or weights like list:70,get:30");
+    }
+
+    private static WorkloadMix parse(String name, String weights) {
+        Map<Operation, Integer> parsed = new EnumMap<>(Operation.class);
+        for (String entry : weights.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights must not be negative: " + entry);
+            }
+            parsed.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (parsed.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("At least one operation needs a positive weight: " + weights);
+        }
+        return new WorkloadMix(name, parsed);
+    }
+
+    Operation next(SplittableRandom random) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+            pick -= weight.getValue();
+            if (pick < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Weights changed while picking an operation");
+    }
+}
@@ -0,0 +1,151 @@
+package com.cm.todoapi.todo.admission;
+
+import com.cm.todoapi.todo.config.TodoAdmissionProperties;
+import com.cm.todoapi.todo.response.TodoError;
+import com.cm.todoapi.todo.response.TodoResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control in front of the todo endpoints.
+ * <p>
+ * Each client, identified by its remote address, gets a token bucket of {@code todo.admission.burst}
+ * requests refilled at {@code todo.admission.requests-per-second}. Requests over that budget get
+ * 429. The key is never taken from a request header, since a caller could mint a fresh bucket with
+ * every request; behind a trusted proxy set {@code server.forward-headers-strategy} so the remote
+ * address is the forwarded one. Admitted requests
+ * then need one of {@code todo.admission.max-concurrent-requests} slots, sized below what the
+ * connection pool can queue, and get 503 when none is free. Both rejections carry Retry-After.
+ * An asynchronous request, such as the NDJSON export, keeps its slot until it completes, fails or
+ * times out, since it holds its connection for as long as it streams. The change feed is exempt
+ * because its requests stay open for the whole subscription.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final String TODO_PATH = "/api/todo";
+    private static final String CHANGES_PATH = "/api/todo/changes";
+
+    private final TodoAdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ClientRateLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+    private final LongSupplier nanoTime;
+
+    public AdmissionControlFilter(TodoAdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(properties, objectMapper, meterRegistry, System::nanoTime);
+    }
+
+    AdmissionControlFilter(TodoAdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.nanoTime = nanoTime;
+        this.rateLimiter = new ClientRateLimiter(properties.getRequestsPerSecond(), properties.getBurst(),
+                properties.getIdleTimeout(), properties.getMaxClients(), nanoTime);
+        this.concurrencyLimiter = new ConcurrencyLimiter(properties.getMaxConcurrentRequests());
+        this.rateLimited = rejections(meterRegistry, "rate_limited");
+        this.overloaded = rejections(meterRegistry, "overloaded");
+        Gauge.builder("todo.admission.clients", rateLimiter, ClientRateLimiter::trackedClients)
+                .description("Clients with a tracked token bucket")
+                .register(meterRegistry);
+        Gauge.builder("todo.admission.requests.active", concurrencyLimiter, ConcurrencyLimiter::inFlight)
+                .description("Todo requests currently holding a concurrency slot")
+                .register(meterRegistry);
+        Gauge.builder("todo.admission.requests.limit", concurrencyLimiter, ConcurrencyLimiter::limit)
+                .description("Todo requests allowed to run concurrently")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean todoPath = path.equals(TODO_PATH) || path.startsWith(TODO_PATH + "/");
+        return !todoPath || path.startsWith(CHANGES_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(request.getRemoteAddr(), nanoTime.getAsLong());
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1),
+                    "Too many requests, retry later");
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloaded.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, properties.getRetryAfter().toSeconds(), "Server is busy, retry later");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new SlotReleasingListener());
+            } else {
+                concurrencyLimiter.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new TodoResponse<Void>(null, TodoError.of(message)));
+    }
+
+    private final class SlotReleasingListener implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimiter.release();
+            }
+        }
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("todo.admission.rejected")
+                .description("Todo requests rejected by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.cm.todoapi.todo.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps one {@link TokenBucket} per client in a bounded Caffeine cache.
+ * <p>
+ * A bucket untouched for the idle timeout has long since refilled and carries no state worth
+ * keeping, so it expires. The cache never holds more than {@code maxClients} buckets: when a flood of
+ * new clients pushes it past that, the least valuable buckets are evicted in amortized constant time
+ * instead of scanning every entry on each request. An evicted client merely starts again from a
+ * full bucket.
+ */
+class ClientRateLimiter {
+    private final long emissionIntervalNanos;
+    private final int burst;
+    private final Cache<String, TokenBucket> buckets;
+
+    ClientRateLimiter(double requestsPerSecond, int burst, Duration idleTimeout, int maxClients, LongSupplier nanoTime) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.burst = burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .ticker(nanoTime::getAsLong)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * @return {@code 0} when the request is admitted, otherwise the nanoseconds the client should wait
+     */
+    long tryAcquire(String client, long now) {
+        return buckets.get(client, key -> new TokenBucket(emissionIntervalNanos, burst, now)).tryAcquire(now);
+    }
+
+    long trackedClients() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
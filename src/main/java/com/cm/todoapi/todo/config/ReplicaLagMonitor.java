@@ -0,0 +1,94 @@
+package com.cm.todoapi.todo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures how far the replica lags behind the primary every {@code todo.replica.lag-check-interval}.
+ * <p>
+ * The probe runs on its own thread, so it keeps running when {@code todo.scheduling.enabled} is off.
+ * A measurement older than {@value #STALE_AFTER_INTERVALS} check intervals counts as unknown, which
+ * sends reads back to the primary until the probe succeeds again.
+ * <p>
+ * The lag gauge is bound as a {@link MeterBinder} rather than in the constructor: the meter registry
+ * binds the data source pool metrics, which need the routing data source this monitor is part of.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+    static final int STALE_AFTER_INTERVALS = 3;
+
+    private final JdbcTemplate replica;
+    private final TodoReplicaProperties properties;
+    private final LongSupplier nanoTime;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile long checkedAt;
+    private ScheduledExecutorService executor;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, TodoReplicaProperties properties) {
+        this(replicaDataSource, properties, System::nanoTime);
+    }
+
+    ReplicaLagMonitor(DataSource replicaDataSource, TodoReplicaProperties properties, LongSupplier nanoTime) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout(Math.max(1, (int) properties.getLagCheckInterval().toSeconds()));
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("todo.replica.lag", this, monitor -> monitor.lagSeconds);
+    }
+
+    @PostConstruct
+    public void start() {
+        check();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-lag-");
+        threadFactory.setDaemon(true);
+        executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = properties.getLagCheckInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::check, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public void check() {
+        try {
+            Number lag = replica.queryForObject(properties.getLagQuery(), Number.class);
+            lagSeconds = lag == null ? Double.NaN : lag.doubleValue();
+        } catch (DataAccessException exception) {
+            lagSeconds = Double.NaN;
+        }
+        checkedAt = nanoTime.getAsLong();
+    }
+
+    public boolean isReplicaUsable() {
+        Duration lag = getLag();
+        return lag != null && lag.compareTo(properties.getMaxLag()) <= 0;
+    }
+
+    public Duration getLag() {
+        double lag = lagSeconds;
+        if (Double.isNaN(lag) || nanoTime.getAsLong() - checkedAt > STALE_AFTER_INTERVALS * properties.getLagCheckInterval().toNanos()) {
+            return null;
+        }
+        return Duration.ofMillis((long) (lag * 1000));
+    }
+}
@@ -0,0 +1,30 @@
+package com.cm.todoapi.todo.config;
+
+import com.cm.todoapi.todo.tenant.TenantContext;
+import com.cm.todoapi.todo.tenant.TenantFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+
+@Configuration
+public class TenancyConfig {
+
+    @Bean
+    FilterRegistrationBean<TenantFilter> tenantFilter(TodoTenancyProperties properties, ObjectMapper objectMapper) {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(new TenantFilter(properties.getHeader(), objectMapper));
+        registration.addUrlPatterns("/api/todo", "/api/todo/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean
+    TaskDecorator tenantPropagatingTaskDecorator() {
+        return task -> {
+            String tenant = TenantContext.current();
+            return () -> TenantContext.runAs(tenant, task);
+        };
+    }
+}
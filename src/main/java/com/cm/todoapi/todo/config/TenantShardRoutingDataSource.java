@@ -0,0 +1,69 @@
+package com.cm.todoapi.todo.config;
+
+import com.cm.todoapi.todo.tenant.ConsistentHashRing;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Sends each tenant's connections to the shard its id hashes to on a {@link ConsistentHashRing}.
+ * Adding a shard only moves the tenants that now hash to it.
+ * <p>
+ * Jobs that maintain every shard, like the archive and the outbox publisher, pin a shard with
+ * {@link #callOnShard(String, Supplier)} instead of acting for a tenant.
+ */
+public class TenantShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private final Map<String, HikariDataSource> shards;
+    private final ConsistentHashRing ring;
+    private final ThreadLocal<String> pinnedShard = new ThreadLocal<>();
+
+    public TenantShardRoutingDataSource(Map<String, HikariDataSource> shards, int virtualNodes) {
+        this.shards = new LinkedHashMap<>(shards);
+        this.ring = new ConsistentHashRing(shards.keySet(), virtualNodes);
+        setTargetDataSources(new LinkedHashMap<>(shards));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String pinned = pinnedShard.get();
+        return pinned != null ? pinned : shardOf(TenantContext.current());
+    }
+
+    public String shardOf(String tenant) {
+        return ring.locate(tenant);
+    }
+
+    public Set<String> shardNames() {
+        return shards.keySet();
+    }
+
+    public Map<String, HikariDataSource> shards() {
+        return shards;
+    }
+
+    public <T> T callOnShard(String shard, Supplier<T> action) {
+        String previous = pinnedShard.get();
+        pinnedShard.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                pinnedShard.remove();
+            } else {
+                pinnedShard.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        shards.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,52 @@
+package com.cm.todoapi.todo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.tenancy.sharding.enabled", havingValue = "true")
+public class TenantShardingConfig {
+
+    @Bean
+    TenantShardRoutingDataSource tenantShardRoutingDataSource(TodoTenancyProperties properties, TodoReplicaProperties replicaProperties) {
+        if (replicaProperties.isEnabled()) {
+            throw new IllegalStateException("todo.tenancy.sharding.enabled and todo.replica.enabled cannot be combined");
+        }
+        Map<String, TodoTenancyProperties.Shard> configured = properties.getSharding().getShards();
+        if (configured.isEmpty()) {
+            throw new IllegalStateException("Configure at least one shard under todo.tenancy.sharding.shards");
+        }
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+        configured.forEach((name, shard) -> {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + name);
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.put(name, dataSource);
+        });
+        return new TenantShardRoutingDataSource(shards, properties.getSharding().getVirtualNodes());
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(TenantShardRoutingDataSource tenantShardRoutingDataSource) {
+        return tenantShardRoutingDataSource;
+    }
+
+    @Bean
+    FlywayMigrationStrategy shardMigrationStrategy(TenantShardRoutingDataSource tenantShardRoutingDataSource) {
+        return flyway -> tenantShardRoutingDataSource.shards().values().forEach(shard ->
+                Flyway.configure().configuration(flyway.getConfiguration()).dataSource(shard).load().migrate());
+    }
+}
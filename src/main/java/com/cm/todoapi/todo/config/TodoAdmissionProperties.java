@@ -0,0 +1,20 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.admission")
+public class TodoAdmissionProperties {
+    private boolean enabled = true;
+    private double requestsPerSecond = 50;
+    private int burst = 100;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private int maxClients = 100_000;
+    private int maxConcurrentRequests = 32;
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,20 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.archive")
+public class TodoArchiveProperties {
+    private boolean enabled = true;
+    private Duration interval = Duration.ofMinutes(10);
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 100;
+    private Duration pause = Duration.ofMillis(200);
+    private Duration deletedRetention = Duration.ofDays(7);
+    private Duration completedRetention = Duration.ofDays(30);
+}
@@ -0,0 +1,13 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.batch")
+public class TodoBatchProperties {
+    private int chunkSize = 500;
+    private int maxItems = 10000;
+}
@@ -0,0 +1,59 @@
+package com.cm.todoapi.todo.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Read-through caches in front of {@link com.cm.todoapi.todo.repository.TodoRepository}.
+ * <p>
+ * Every key starts with the caller's tenant (see {@link com.cm.todoapi.todo.tenant.TenantContext#key}),
+ * so tenants never see each other's entries and one tenant's writes leave the others cached.
+ * <p>
+ * Consistency rules:
+ * <ul>
+ *     <li>{@value #TODO} holds single todos by id. Creates and updates made through
+ *     {@link com.cm.todoapi.todo.service.TodoService} put the new state, deletes evict the id.</li>
+ *     <li>{@value #FIRST_PAGE} holds only the unfiltered first page of the list view with the
+ *     default page size, and the collection state behind the list ETag under {@code 'state'}.
+ *     Every create, update and delete evicts both entries of its tenant.</li>
+ *     <li>The caching advice wraps the transaction, so entries are put or evicted only after
+ *     the write has committed. When a service method joins an enclosing transaction the caches
+ *     are transaction aware and wait for that transaction to commit. A rolled back write leaves
+ *     the cache untouched.</li>
+ *     <li>Batch writes through {@link com.cm.todoapi.todo.service.TodoBatchService} evict the
+ *     touched ids and the first page once all chunks have run.</li>
+ *     <li>Writes that bypass {@code TodoService}, including writes from other nodes, are only
+ *     seen once the entry expires (see {@code spring.cache.caffeine.spec}).</li>
+ * </ul>
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class TodoCacheConfig {
+    public static final String TODO = "todo";
+    public static final String FIRST_PAGE = "todoFirstPage";
+
+    private static final String TENANT = "T(com.cm.todoapi.todo.tenant.TenantContext)";
+    public static final String TODO_KEY = TENANT + ".key(#id)";
+    public static final String CREATED_TODO_KEY = TENANT + ".key(#result.id)";
+    public static final String FIRST_PAGE_KEY = TENANT + ".key('first')";
+    public static final String STATE_KEY = TENANT + ".key('state')";
+
+    /**
+     * {@link CaffeineCacheManager} has no transaction aware mode of its own, so the manager is wrapped
+     * in a proxy that decorates every cache it hands out.
+     */
+    @Bean
+    static BeanPostProcessor transactionAwareCaches() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof CaffeineCacheManager cacheManager ? new TransactionAwareCacheManagerProxy(cacheManager) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.changes")
+public class TodoChangeFeedProperties {
+    private int replaySize = 1024;
+    private int subscriberBufferSize = 256;
+    private Duration timeout = Duration.ofMinutes(30);
+    private int maxIdleTenants = 1000;
+    private int senderThreads = 8;
+}
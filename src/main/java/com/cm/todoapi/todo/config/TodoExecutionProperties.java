@@ -0,0 +1,20 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.execution")
+public class TodoExecutionProperties {
+    private Mode mode = Mode.PLATFORM;
+    private int jdbcPermits = 10;
+    private Duration jdbcAcquireTimeout = Duration.ofSeconds(30);
+
+    public enum Mode {
+        PLATFORM, VIRTUAL
+    }
+}
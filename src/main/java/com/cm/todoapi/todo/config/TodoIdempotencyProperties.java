@@ -0,0 +1,17 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.idempotency")
+public class TodoIdempotencyProperties {
+    private String store = "memory";
+    private Duration ttl = Duration.ofHours(24);
+    private int maxEntries = 100_000;
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,45 @@
+package com.cm.todoapi.todo.config;
+
+import com.cm.todoapi.todo.metrics.QueryCountInterceptor;
+import com.cm.todoapi.todo.metrics.QueryCountingDataSource;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class TodoMetricsConfig implements WebMvcConfigurer {
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    private final MeterRegistry meterRegistry;
+
+    public TodoMetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /** Counts statements on the application data source, so JdbcTemplate reads show up next to Hibernate's. */
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && DATA_SOURCE_BEAN_NAME.equals(beanName) ? new QueryCountingDataSource(dataSource) : bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor(meterRegistry)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,18 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.outbox")
+public class TodoOutboxProperties {
+    private int batchSize = 100;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private String sink = "file";
+    private Path file = Path.of("todo-events.ndjson");
+}
@@ -0,0 +1,16 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.partitions")
+public class TodoPartitionProperties {
+    private boolean enabled = true;
+    private Duration interval = Duration.ofHours(6);
+    private int monthsAhead = 3;
+}
@@ -0,0 +1,15 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.stats")
+public class TodoStatsProperties {
+    private int maxTenants = 10_000;
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+}
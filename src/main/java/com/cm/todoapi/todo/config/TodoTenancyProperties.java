@@ -0,0 +1,33 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.tenancy")
+public class TodoTenancyProperties {
+    private String header = "X-Tenant-Id";
+    private Sharding sharding = new Sharding();
+
+    @Getter
+    @Setter
+    public static class Sharding {
+        private boolean enabled = false;
+        private int virtualNodes = 128;
+        private Map<String, Shard> shards = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
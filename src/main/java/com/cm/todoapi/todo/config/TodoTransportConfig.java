@@ -0,0 +1,24 @@
+package com.cm.todoapi.todo.config;
+
+import com.cm.todoapi.todo.controller.PrecompressedFirstPageFilter;
+import com.cm.todoapi.todo.service.TodoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.transport.precompress-first-page", havingValue = "true", matchIfMissing = true)
+public class TodoTransportConfig {
+
+    @Bean
+    FilterRegistrationBean<PrecompressedFirstPageFilter> precompressedFirstPageFilter(TodoService todoService, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<PrecompressedFirstPageFilter> registration =
+                new FilterRegistrationBean<>(new PrecompressedFirstPageFilter(todoService, meterRegistry));
+        registration.addUrlPatterns("/api/todo");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
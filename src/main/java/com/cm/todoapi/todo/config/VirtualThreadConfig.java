@@ -0,0 +1,97 @@
+package com.cm.todoapi.todo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.execution.mode", havingValue = "virtual")
+public class VirtualThreadConfig {
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    @Bean
+    TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    AsyncTaskExecutor applicationTaskExecutor(ObjectProvider<TaskDecorator> taskDecorator) {
+        TaskExecutorAdapter executor = new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+        taskDecorator.ifAvailable(executor::setTaskDecorator);
+        return executor;
+    }
+
+    /**
+     * Puts a {@link ConnectionLimitingDataSource} in front of every connection pool, with as many
+     * permits as that pool has connections. With a read replica or tenant shards each routing target
+     * gets its own permits, so a busy replica never holds back writes to the primary. Proxies in front
+     * of a routing data source are left alone, since the pools behind them are limited already. It runs
+     * ahead of unordered post-processors, so decorators such as the query counter wrap the limited pool.
+     */
+    @Bean
+    static ConnectionLimitingDataSourcePostProcessor connectionLimitingDataSourcePostProcessor(ObjectProvider<TodoExecutionProperties> executionProperties) {
+        return new ConnectionLimitingDataSourcePostProcessor(executionProperties);
+    }
+
+    static final class ConnectionLimitingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<TodoExecutionProperties> executionProperties;
+
+        ConnectionLimitingDataSourcePostProcessor(ObjectProvider<TodoExecutionProperties> executionProperties) {
+            this.executionProperties = executionProperties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof AbstractRoutingDataSource routingDataSource) {
+                limitTargets(routingDataSource, executionProperties.getObject());
+            } else if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource) && DATA_SOURCE_BEAN_NAME.equals(beanName)) {
+                return limit(dataSource, executionProperties.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    private static void limitTargets(AbstractRoutingDataSource routingDataSource, TodoExecutionProperties properties) {
+        Map<DataSource, DataSource> limited = new IdentityHashMap<>();
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        routingDataSource.getResolvedDataSources().forEach((key, target) -> targets.put(key, limited.computeIfAbsent(target, pool -> limit(pool, properties))));
+        DataSource defaultTarget = routingDataSource.getResolvedDefaultDataSource();
+        if (defaultTarget != null) {
+            routingDataSource.setDefaultTargetDataSource(limited.computeIfAbsent(defaultTarget, pool -> limit(pool, properties)));
+        }
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    private static DataSource limit(DataSource dataSource, TodoExecutionProperties properties) {
+        if (dataSource instanceof ConnectionLimitingDataSource) {
+            return dataSource;
+        }
+        // An unstarted Hikari pool reports -1 until it fills in its default size.
+        int permits = dataSource instanceof HikariDataSource pool && pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : properties.getJdbcPermits();
+        return new ConnectionLimitingDataSource(dataSource, permits, properties.getJdbcAcquireTimeout());
+    }
+}
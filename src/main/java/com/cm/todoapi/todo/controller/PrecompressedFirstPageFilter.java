@@ -0,0 +1,128 @@
+package com.cm.todoapi.todo.controller;
+
+import com.cm.todoapi.todo.service.TodoService;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the gzipped JSON body of the unfiltered first page of {@code GET /api/todo} per tenant,
+ * keyed by the list ETag, and replays it to gzip-capable clients until the collection changes. The hottest
+ * list request then costs one cached state lookup instead of a query, a serialization and a
+ * compression pass. Conditional requests and every other list request go to the controller.
+ */
+public class PrecompressedFirstPageFilter extends OncePerRequestFilter {
+    private static final String LIST_PATH = "/api/todo";
+    private static final String GZIP = "gzip";
+    private static final int MAX_TENANTS = 1024;
+
+    private final TodoService todoService;
+    private final Cache<String, Entry> firstPages = Caffeine.newBuilder().maximumSize(MAX_TENANTS).build();
+    private final Counter hits;
+    private final Counter misses;
+
+    public PrecompressedFirstPageFilter(TodoService todoService, MeterRegistry meterRegistry) {
+        this.todoService = todoService;
+        this.hits = meterRegistry.counter("todo.first.page.precompressed", "result", "hit");
+        this.misses = meterRegistry.counter("todo.first.page.precompressed", "result", "miss");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !"GET".equals(request.getMethod()) || !LIST_PATH.equals(path) || request.getQueryString() != null
+                || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || !acceptsGzip(request) || !prefersJson(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String etag = TodoETags.of(todoService.getCollectionState(), null, TodoETags.JSON);
+        Entry cached = firstPages.getIfPresent(TenantContext.current());
+        if (cached != null && cached.etag().equals(etag)) {
+            hits.increment();
+            if (cached.nextCursor() != null) {
+                response.setHeader(TodoController.NEXT_CURSOR_HEADER, cached.nextCursor());
+            }
+            response.setHeader(HttpHeaders.ETAG, cached.etag());
+            write(response, cached.contentType(), cached.body());
+            return;
+        }
+
+        misses.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        String responseEtag = wrapper.getHeader(HttpHeaders.ETAG);
+        if (wrapper.getStatus() != HttpStatus.OK.value() || responseEtag == null || wrapper.getContentType() == null
+                || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] body = gzip(wrapper.getContentAsByteArray());
+        firstPages.put(TenantContext.current(), new Entry(responseEtag, wrapper.getContentType(), wrapper.getHeader(TodoController.NEXT_CURSOR_HEADER), body));
+        write(response, wrapper.getContentType(), body);
+    }
+
+    private static void write(HttpServletResponse response, String contentType, byte[] body) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static boolean prefersJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(mediaTypes);
+            return !mediaTypes.isEmpty() && mediaTypes.get(0).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (IllegalArgumentException exception) {
+            return false;
+        }
+    }
+
+    private record Entry(String etag, String contentType, String nextCursor, byte[] body) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.cm.todoapi.todo.controller;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.response.TodoBatchResult;
+import com.cm.todoapi.todo.response.TodoResponse;
+import com.cm.todoapi.todo.service.TodoBatchService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@Timed(value = "todo.controller", histogram = true)
+@RequestMapping(path = "/api/todo/batch")
+public class TodoBatchController {
+
+    private final TodoBatchService todoBatchService;
+
+    @Autowired
+    public TodoBatchController(TodoBatchService todoBatchService) {
+        this.todoBatchService = todoBatchService;
+    }
+
+    @PostMapping
+    ResponseEntity<TodoResponse<List<TodoBatchResult>>> createTodos(@RequestBody List<Todo> todos){
+        return ResponseEntity.ok(new TodoResponse<>(todoBatchService.createTodos(todos),null));
+    }
+
+    @PutMapping
+    ResponseEntity<TodoResponse<List<TodoBatchResult>>> updateTodos(@RequestBody List<Todo> todos){
+        return ResponseEntity.ok(new TodoResponse<>(todoBatchService.updateTodos(todos),null));
+    }
+
+    @DeleteMapping
+    ResponseEntity<TodoResponse<List<TodoBatchResult>>> deleteTodos(@RequestBody List<Integer> ids){
+        return ResponseEntity.ok(new TodoResponse<>(todoBatchService.deleteTodos(ids),null));
+    }
+}
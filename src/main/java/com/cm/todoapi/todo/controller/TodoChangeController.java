@@ -0,0 +1,26 @@
+package com.cm.todoapi.todo.controller;
+
+import com.cm.todoapi.todo.service.TodoChangeFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping(path = "/api/todo/changes")
+public class TodoChangeController {
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final TodoChangeFeed todoChangeFeed;
+
+    @Autowired
+    public TodoChangeController(TodoChangeFeed todoChangeFeed) {
+        this.todoChangeFeed = todoChangeFeed;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter subscribe(@RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) String lastEventId,
+                         @RequestParam(name = "since", required = false) String since){
+        return todoChangeFeed.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
@@ -1,50 +1,164 @@
 package com.cm.todoapi.todo.controller;
 
 import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoCollectionState;
+import com.cm.todoapi.todo.model.TodoFilter;
+import com.cm.todoapi.todo.model.TodoPage;
+import com.cm.todoapi.todo.model.TodoPatch;
+import com.cm.todoapi.todo.model.TodoStats;
+import com.cm.todoapi.todo.model.TodoView;
+import com.cm.todoapi.todo.service.TodoExportService;
+import com.cm.todoapi.todo.service.TodoIdempotencyService;
 import com.cm.todoapi.todo.service.TodoService;
+import com.cm.todoapi.todo.service.TodoStatsService;
+import com.cm.todoapi.todo.response.TodoError;
 import com.cm.todoapi.todo.response.TodoResponse;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
+@Timed(value = "todo.controller", histogram = true)
 @RequestMapping(path = "/api/todo")
 public class TodoController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
 
     private final TodoService todoService;
+    private final TodoExportService todoExportService;
+    private final TodoIdempotencyService todoIdempotencyService;
+    private final TodoStatsService todoStatsService;
 
     @Autowired
-    public TodoController(TodoService todoService) {
+    public TodoController(TodoService todoService, TodoExportService todoExportService, TodoIdempotencyService todoIdempotencyService,
+                          TodoStatsService todoStatsService) {
         this.todoService = todoService;
+        this.todoExportService = todoExportService;
+        this.todoIdempotencyService = todoIdempotencyService;
+        this.todoStatsService = todoStatsService;
     }
 
     @GetMapping
-    ResponseEntity<TodoResponse> getAllTodos(){
-        return ResponseEntity.ok(new TodoResponse(todoService.getAllTodos(),null));
+    ResponseEntity<TodoResponse<List<TodoView>>> getAllTodos(@RequestParam(required = false) Boolean completed,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size,
+                                             ServletWebRequest request){
+        TodoCollectionState state = todoService.getCollectionState();
+        String etag = TodoETags.of(state, request.getRequest().getQueryString(), TodoETags.representation(request.getRequest()));
+        vary(request);
+        if(request.checkNotModified(etag)){
+            return null;
+        }
+        TodoPage<TodoView> page = todoService.getTodoPage(new TodoFilter(completed, createdFrom, createdTo), cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if(page.getNextCursor() != null){
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(new TodoResponse<>(page.getTodos(),null));
+    }
+
+    @GetMapping(path = "search")
+    ResponseEntity<TodoResponse<List<Todo>>> searchTodos(@RequestParam("q") String query,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size){
+        TodoPage<Todo> page = todoService.searchTodos(query, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if(page.getNextCursor() != null){
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(new TodoResponse<>(page.getTodos(),null));
+    }
+
+    @GetMapping(path = "stats")
+    ResponseEntity<TodoResponse<TodoStats>> getTodoStats(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo){
+        return ResponseEntity.ok(new TodoResponse<>(todoStatsService.getStats(createdFrom, createdTo),null));
+    }
+
+    @GetMapping(path = "export")
+    ResponseEntity<StreamingResponseBody> exportAllTodos(){
+        StreamingResponseBody body = todoExportService::exportTodos;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(path = "{id}")
+    ResponseEntity<TodoResponse<Todo>> getATodoById(@PathVariable Integer id, ServletWebRequest request){
+        Todo todo = todoService.getTodoById(id);
+        String etag = TodoETags.of(todo, TodoETags.representation(request.getRequest()));
+        vary(request);
+        if(etag != null && request.checkNotModified(etag)){
+            return null;
+        }
+        return ResponseEntity.ok(new TodoResponse<>(todo,null));
     }
 
     @PostMapping
-    ResponseEntity<TodoResponse> createNewTodo(@Valid @RequestBody Todo newTodo, BindingResult bindingResult){
+    ResponseEntity<TodoResponse<Todo>> createNewTodo(@Valid @RequestBody Todo newTodo, BindingResult bindingResult,
+                                                     @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                     HttpServletRequest request){
         if(bindingResult.hasErrors()){
             List<String> errors = bindingResult.getAllErrors().stream().map(ObjectError::getDefaultMessage).toList();
-            return ResponseEntity.unprocessableEntity().body(new TodoResponse(null, errors));
+            return ResponseEntity.unprocessableEntity().body(new TodoResponse<>(null, TodoError.of(errors)));
+        }
+        if(idempotencyKey != null){
+            TodoIdempotencyService.IdempotentTodo result = todoIdempotencyService.createNewTodo(idempotencyKey, newTodo);
+            return withETag(result.todo(), request)
+                    .header(IDEMPOTENT_REPLAYED_HEADER, Boolean.toString(result.replayed()))
+                    .body(new TodoResponse<>(result.todo(),null));
         }
-        return ResponseEntity.ok(new TodoResponse(todoService.createNewTodo(newTodo),null));
+        Todo created = todoService.createNewTodo(newTodo);
+        return withETag(created, request).body(new TodoResponse<>(created,null));
     }
 
     @DeleteMapping(path = "{id}")
-    ResponseEntity<TodoResponse> deleteATodoById(@PathVariable Integer id){
-        todoService.deleteTodoById(id);
-        return ResponseEntity.ok(new TodoResponse("Successfully deleted 1 todo",null));
+    ResponseEntity<TodoResponse<String>> deleteATodoById(@PathVariable Integer id,
+                                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        todoService.deleteTodoById(id, TodoETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok(new TodoResponse<>("Successfully deleted 1 todo",null));
     }
 
     @PutMapping(path = "{id}")
-    ResponseEntity<TodoResponse> updateATodoById(@PathVariable Integer id,@RequestBody Todo todo){
-        return ResponseEntity.ok(new TodoResponse(todoService.updateTodoById(id,todo),null));
+    ResponseEntity<TodoResponse<Todo>> updateATodoById(@PathVariable Integer id,@RequestBody Todo todo,
+                                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 HttpServletRequest request){
+        Todo updated = todoService.updateTodoById(id,todo,TodoETags.expectedVersion(ifMatch));
+        return withETag(updated, request).body(new TodoResponse<>(updated,null));
+    }
+
+    @PatchMapping(path = "{id}")
+    ResponseEntity<TodoResponse<Todo>> patchATodoById(@PathVariable Integer id,@RequestBody TodoPatch patch,
+                                                @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                HttpServletRequest request){
+        Todo patched = todoService.patchTodoById(id,patch,TodoETags.expectedVersion(ifMatch));
+        return withETag(patched, request).body(new TodoResponse<>(patched,null));
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(Todo todo, HttpServletRequest request){
+        String etag = TodoETags.of(todo, TodoETags.representation(request));
+        return etag == null ? ResponseEntity.ok() : ResponseEntity.ok().eTag(etag).varyBy(TodoETags.VARY);
+    }
+
+    private static void vary(ServletWebRequest request){
+        HttpServletResponse response = request.getResponse();
+        if(response != null){
+            response.setHeader(HttpHeaders.VARY, String.join(", ", TodoETags.VARY));
+        }
     }
 }
@@ -0,0 +1,90 @@
+package com.cm.todoapi.todo.controller;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoCollectionState;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * ETags for todos and todo lists. A todo's tag is its version, suffixed with the wire format when
+ * the response is not JSON, so each representation gets its own strong validator. Responses that
+ * carry a tag vary by {@code Accept} and {@code Accept-Encoding}. {@code If-Match} uses strong
+ * comparison, so a weak tag never matches.
+ */
+final class TodoETags {
+    static final String[] VARY = {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING};
+    static final String JSON = "";
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final List<MediaType> BINARY = List.of(MediaType.APPLICATION_CBOR, SMILE);
+
+    private TodoETags() {
+    }
+
+    static String of(Todo todo, String representation) {
+        if (todo.getVersion() == null) {
+            return null;
+        }
+        return "\"" + todo.getVersion() + (representation.isEmpty() ? "" : "+" + representation) + "\"";
+    }
+
+    static String of(TodoCollectionState state, String query, String representation) {
+        String key = TenantContext.current() + ":" + state.getCount() + ":" + state.getMaxId() + ":" + state.getVersionSum() + ":" + (query == null ? "" : query)
+                + ":" + representation;
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * The wire format the response will be written in, following the converter order: JSON wins
+     * unless the client prefers CBOR or Smile.
+     */
+    static String representation(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(mediaTypes);
+            for (MediaType mediaType : mediaTypes) {
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return JSON;
+                }
+                for (MediaType binary : BINARY) {
+                    if (mediaType.isCompatibleWith(binary)) {
+                        return binary.getSubtype();
+                    }
+                }
+            }
+        } catch (IllegalArgumentException exception) {
+            return JSON;
+        }
+        return JSON;
+    }
+
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/") || tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return -1L;
+        }
+        tag = tag.substring(1, tag.length() - 1);
+        int suffix = tag.indexOf('+');
+        if (suffix >= 0) {
+            tag = tag.substring(0, suffix);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException exception) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.cm.todoapi.todo.events;
+
+import com.cm.todoapi.todo.config.TodoOutboxProperties;
+import com.cm.todoapi.todo.model.TodoOutboxEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "todo.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileTodoEventSink implements TodoEventSink {
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public FileTodoEventSink(TodoOutboxProperties properties, ObjectMapper objectMapper) {
+        this.file = properties.getFile();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<TodoOutboxEntry> entries) {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (TodoOutboxEntry entry : entries) {
+                writer.write(objectMapper.writeValueAsString(entry));
+                writer.write('\n');
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
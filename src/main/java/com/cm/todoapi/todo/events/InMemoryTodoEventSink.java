@@ -0,0 +1,35 @@
+package com.cm.todoapi.todo.events;
+
+import com.cm.todoapi.todo.model.TodoOutboxEntry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "todo.outbox.sink", havingValue = "memory")
+public class InMemoryTodoEventSink implements TodoEventSink {
+    static final int CAPACITY = 10000;
+
+    private final Deque<TodoOutboxEntry> published = new ArrayDeque<>();
+
+    @Override
+    public synchronized void publish(List<TodoOutboxEntry> entries) {
+        for (TodoOutboxEntry entry : entries) {
+            if (published.size() == CAPACITY) {
+                published.removeFirst();
+            }
+            published.addLast(entry);
+        }
+    }
+
+    public synchronized List<TodoOutboxEntry> getPublished() {
+        return List.copyOf(published);
+    }
+
+    public synchronized void clear() {
+        published.clear();
+    }
+}
@@ -0,0 +1,35 @@
+package com.cm.todoapi.todo.events;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoStatsBucket;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TodoChangedEvent {
+    private Type type;
+    private String ownerId;
+    private Integer id;
+    private Todo todo;
+    @JsonIgnore
+    private TodoStatsBucket previous;
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static TodoChangedEvent created(Todo todo) {
+        return new TodoChangedEvent(Type.CREATED, todo.getOwnerId(), todo.getId(), todo, null);
+    }
+
+    public static TodoChangedEvent updated(TodoStatsBucket previous, Todo todo) {
+        return new TodoChangedEvent(Type.UPDATED, todo.getOwnerId(), todo.getId(), todo, previous);
+    }
+
+    public static TodoChangedEvent deleted(String ownerId, Integer id, TodoStatsBucket previous) {
+        return new TodoChangedEvent(Type.DELETED, ownerId, id, null, previous);
+    }
+}
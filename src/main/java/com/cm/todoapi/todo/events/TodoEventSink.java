@@ -0,0 +1,17 @@
+package com.cm.todoapi.todo.events;
+
+import com.cm.todoapi.todo.model.TodoOutboxEntry;
+
+import java.util.List;
+
+/**
+ * Destination for todo changes drained from the outbox.
+ * <p>
+ * Entries arrive in outbox id order. Delivery is at least once: a batch is removed from the
+ * outbox only after {@link #publish} returns, so an exception, or a crash before the removal
+ * commits, hands the same entries out again. Consumers should deduplicate on
+ * {@link TodoOutboxEntry#getId()}.
+ */
+public interface TodoEventSink {
+    void publish(List<TodoOutboxEntry> entries);
+}
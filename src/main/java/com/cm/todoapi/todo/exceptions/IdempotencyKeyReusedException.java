@@ -0,0 +1,7 @@
+package com.cm.todoapi.todo.exceptions;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency key " + key + " was already used for a different todo");
+    }
+}
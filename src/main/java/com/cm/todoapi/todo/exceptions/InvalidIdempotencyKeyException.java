@@ -0,0 +1,7 @@
+package com.cm.todoapi.todo.exceptions;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(int maxLength) {
+        super("Idempotency key must be between 1 and " + maxLength + " characters");
+    }
+}
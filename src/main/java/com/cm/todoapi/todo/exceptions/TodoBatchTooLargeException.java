@@ -0,0 +1,7 @@
+package com.cm.todoapi.todo.exceptions;
+
+public class TodoBatchTooLargeException extends RuntimeException {
+    public TodoBatchTooLargeException(int size, int maxItems) {
+        super("Batch of " + size + " items exceeds the limit of " + maxItems);
+    }
+}
@@ -1,7 +1,11 @@
 package com.cm.todoapi.todo.exceptions;
 
 import com.cm.todoapi.todo.exceptions.TodoNotFoundException;
+import com.cm.todoapi.todo.response.TodoError;
 import com.cm.todoapi.todo.response.TodoResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -9,9 +13,43 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class TodoExceptionHandler {
 
+    private final Counter todoNotFoundCounter;
+
+    public TodoExceptionHandler(MeterRegistry meterRegistry) {
+        this.todoNotFoundCounter = Counter.builder("todo.not.found")
+                .description("TodoNotFoundException raised through the API")
+                .register(meterRegistry);
+    }
+
     @ExceptionHandler(TodoNotFoundException.class)
-    ResponseEntity<TodoResponse> handleTodoNotFoundException(TodoNotFoundException exception){
-        return ResponseEntity.badRequest().body(new TodoResponse(null,exception.getMessage()));
+    ResponseEntity<TodoResponse<Void>> handleTodoNotFoundException(TodoNotFoundException exception){
+        todoNotFoundCounter.increment();
+        return ResponseEntity.badRequest().body(new TodoResponse<>(null,TodoError.of(exception.getMessage())));
+    }
+
+    @ExceptionHandler(TodoVersionConflictException.class)
+    ResponseEntity<TodoResponse<Void>> handleTodoVersionConflictException(TodoVersionConflictException exception){
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new TodoResponse<>(null,TodoError.of(exception.getMessage())));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    ResponseEntity<TodoResponse<Void>> handleInvalidCursorException(InvalidCursorException exception){
+        return ResponseEntity.badRequest().body(new TodoResponse<>(null,TodoError.of(exception.getMessage())));
+    }
+
+    @ExceptionHandler(TodoBatchTooLargeException.class)
+    ResponseEntity<TodoResponse<Void>> handleTodoBatchTooLargeException(TodoBatchTooLargeException exception){
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(new TodoResponse<>(null,TodoError.of(exception.getMessage())));
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    ResponseEntity<TodoResponse<Void>> handleInvalidIdempotencyKeyException(InvalidIdempotencyKeyException exception){
+        return ResponseEntity.badRequest().body(new TodoResponse<>(null,TodoError.of(exception.getMessage())));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    ResponseEntity<TodoResponse<Void>> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException exception){
+        return ResponseEntity.unprocessableEntity().body(new TodoResponse<>(null,TodoError.of(exception.getMessage())));
     }
 
 }
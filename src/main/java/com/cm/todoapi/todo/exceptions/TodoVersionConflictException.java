@@ -0,0 +1,7 @@
+package com.cm.todoapi.todo.exceptions;
+
+public class TodoVersionConflictException extends RuntimeException {
+    public TodoVersionConflictException(Integer id) {
+        super("Todo with id " + id + " has been modified by someone else");
+    }
+}
@@ -0,0 +1,70 @@
+package com.cm.todoapi.todo.idempotency;
+
+import com.cm.todoapi.todo.config.TodoIdempotencyProperties;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoIdempotencyRecord;
+import com.cm.todoapi.todo.repository.TodoIdempotencyRecordRepository;
+import com.cm.todoapi.todo.tenant.TenantShards;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Keeps idempotency keys in {@code todo_idempotency_key} so every node sees them.
+ * <p>
+ * The key row is inserted before the todo, in the same transaction. A second node inserting the
+ * same key blocks on the primary key until the first transaction ends, then fails and reads the
+ * committed row instead of creating another todo. Rows older than {@code todo.idempotency.ttl}
+ * are purged every {@code todo.idempotency.purge-interval}.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.idempotency.store", havingValue = "database")
+public class DatabaseTodoIdempotencyStore implements TodoIdempotencyStore {
+    TodoIdempotencyRecordRepository repository;
+    TransactionTemplate transactionTemplate;
+    TodoIdempotencyProperties properties;
+    TenantShards tenantShards;
+
+    @Autowired
+    public DatabaseTodoIdempotencyStore(TodoIdempotencyRecordRepository repository, TransactionTemplate transactionTemplate,
+                                        TodoIdempotencyProperties properties, TenantShards tenantShards) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.tenantShards = tenantShards;
+    }
+
+    @Override
+    public Optional<Entry> find(String key) {
+        return repository.findById(key)
+                .filter(record -> record.getTodoId() != null)
+                .map(record -> new Entry(record.getFingerprint(), record.toTodo()));
+    }
+
+    @Override
+    public Entry createOnce(String key, String fingerprint, Supplier<Todo> create) {
+        try {
+            return transactionTemplate.execute(status -> {
+                repository.reserve(key, fingerprint, LocalDateTime.now());
+                Todo created = create.get();
+                repository.save(TodoIdempotencyRecord.of(key, fingerprint, created));
+                return new Entry(fingerprint, created);
+            });
+        } catch (DataIntegrityViolationException exception) {
+            return find(key).orElseThrow(() -> exception);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        LocalDateTime recordedBefore = LocalDateTime.now().minus(properties.getTtl());
+        tenantShards.forEach(() -> transactionTemplate.executeWithoutResult(status -> repository.deleteByRecordedAtBefore(recordedBefore)));
+    }
+}
@@ -0,0 +1,44 @@
+package com.cm.todoapi.todo.idempotency;
+
+import com.cm.todoapi.todo.config.TodoIdempotencyProperties;
+import com.cm.todoapi.todo.model.Todo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "todo.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTodoIdempotencyStore implements TodoIdempotencyStore {
+    private final Cache<String, Entry> entries;
+
+    @Autowired
+    public InMemoryTodoIdempotencyStore(TodoIdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxEntries())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "todoIdempotencyKeys");
+    }
+
+    @Override
+    public Optional<Entry> find(String key) {
+        return Optional.ofNullable(entries.getIfPresent(key));
+    }
+
+    @Override
+    public Entry createOnce(String key, String fingerprint, Supplier<Todo> create) {
+        Todo created = create.get();
+        Entry entry = new Entry(fingerprint, new Todo(created.getId(), created.getTitle(), created.getDescription(),
+                created.isCompleted(), created.getCreatedAt(), created.getVersion()));
+        entries.put(key, entry);
+        return entry;
+    }
+}
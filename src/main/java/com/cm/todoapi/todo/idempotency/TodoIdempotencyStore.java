@@ -0,0 +1,23 @@
+package com.cm.todoapi.todo.idempotency;
+
+import com.cm.todoapi.todo.model.Todo;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which todo was created for an {@code Idempotency-Key} so a retried request can be
+ * answered without creating it again.
+ * <p>
+ * Requests for the same key within one process are already coalesced before they reach the
+ * store. A store shared between processes must also make sure that at most one of them runs
+ * {@code create} for a key, and hand the others the winner's entry.
+ */
+public interface TodoIdempotencyStore {
+    Optional<Entry> find(String key);
+
+    Entry createOnce(String key, String fingerprint, Supplier<Todo> create);
+
+    record Entry(String fingerprint, Todo todo) {
+    }
+}
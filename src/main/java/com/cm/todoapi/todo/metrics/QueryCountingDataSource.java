@@ -0,0 +1,54 @@
+package com.cm.todoapi.todo.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Counts the statements the current thread prepares on its connections, whether they come from
+ * Hibernate or from a {@link org.springframework.jdbc.core.JdbcTemplate}.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+    private static final ThreadLocal<int[]> QUERY_COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    public static void reset() {
+        QUERY_COUNT.get()[0] = 0;
+    }
+
+    public static int currentCount() {
+        return QUERY_COUNT.get()[0];
+    }
+
+    private static Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            if (STATEMENT_METHODS.contains(method.getName())) {
+                QUERY_COUNT.get()[0]++;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getTargetException();
+            }
+        });
+    }
+}
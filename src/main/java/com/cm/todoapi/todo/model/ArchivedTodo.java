@@ -0,0 +1,34 @@
+package com.cm.todoapi.todo.model;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "todo_archive")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+public class ArchivedTodo {
+    @Id
+    private Integer id;
+    private String title;
+    private String description;
+    private boolean completed;
+    private LocalDate createdAt;
+    private Long version;
+    private LocalDateTime completedAt;
+    private LocalDateTime deletedAt;
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+    @Column(nullable = false, length = 64)
+    private String ownerId;
+}
@@ -1,15 +1,25 @@
 package com.cm.todoapi.todo.model;
 
+import com.cm.todoapi.todo.tenant.TenantContext;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Where;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
+@Where(clause = "deleted_at is null")
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -18,7 +28,8 @@ import java.time.LocalDate;
 @EqualsAndHashCode
 public class Todo {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_seq")
+    @SequenceGenerator(name = "todo_seq", sequenceName = "todo_seq", allocationSize = 50)
     private Integer id;
     @NotNull(message = "Provide a title")
     private String title;
@@ -28,4 +39,43 @@ public class Todo {
     private boolean completed;
     @NotNull(message = "Provide a created date")
     private LocalDate createdAt;
+    @Version
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private LocalDateTime deletedAt;
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private LocalDateTime completedAt;
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false, updatable = false, length = 64)
+    private String ownerId;
+
+    public Todo(Integer id, String title, String description, boolean completed, LocalDate createdAt) {
+        this(id, title, description, completed, createdAt, null, null, null, null);
+    }
+
+    public Todo(Integer id, String title, String description, boolean completed, LocalDate createdAt, Long version) {
+        this(id, title, description, completed, createdAt, version, null, null, null);
+    }
+
+    @PrePersist
+    void assignOwner() {
+        if (ownerId == null) {
+            ownerId = TenantContext.current();
+        }
+        stampCompletion();
+    }
+
+    @PreUpdate
+    void stampCompletion() {
+        if (!completed) {
+            completedAt = null;
+        } else if (completedAt == null) {
+            completedAt = LocalDateTime.now();
+        }
+    }
 }
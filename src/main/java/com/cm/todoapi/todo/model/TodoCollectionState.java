@@ -0,0 +1,13 @@
+package com.cm.todoapi.todo.model;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TodoCollectionState {
+    private Long count;
+    private Integer maxId;
+    private Long versionSum;
+}
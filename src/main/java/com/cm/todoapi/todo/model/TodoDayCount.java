@@ -0,0 +1,15 @@
+package com.cm.todoapi.todo.model;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TodoDayCount {
+    private LocalDate createdAt;
+    private boolean completed;
+    private Long count;
+}
@@ -0,0 +1,43 @@
+package com.cm.todoapi.todo.model;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "todo_idempotency_key")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+public class TodoIdempotencyRecord {
+    @Id
+    @Column(length = 320)
+    private String idempotencyKey;
+    @Column(nullable = false, length = 32)
+    private String fingerprint;
+    private Integer todoId;
+    private String title;
+    private String description;
+    private boolean completed;
+    private LocalDate createdAt;
+    private Long version;
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+
+    public static TodoIdempotencyRecord of(String idempotencyKey, String fingerprint, Todo todo) {
+        return new TodoIdempotencyRecord(idempotencyKey, fingerprint, todo.getId(), todo.getTitle(), todo.getDescription(),
+                todo.isCompleted(), todo.getCreatedAt(), todo.getVersion(), LocalDateTime.now());
+    }
+
+    public Todo toTodo() {
+        return new Todo(todoId, title, description, completed, createdAt, version);
+    }
+}
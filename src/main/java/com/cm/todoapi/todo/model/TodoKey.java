@@ -0,0 +1,7 @@
+package com.cm.todoapi.todo.model;
+
+/**
+ * Identifies a todo across tenants, for jobs that work on more than one tenant at a time.
+ */
+public record TodoKey(String ownerId, Integer id) {
+}
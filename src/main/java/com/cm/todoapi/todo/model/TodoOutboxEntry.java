@@ -0,0 +1,33 @@
+package com.cm.todoapi.todo.model;
+
+import com.cm.todoapi.todo.events.TodoChangedEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "todo_outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+public class TodoOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_outbox_seq")
+    @SequenceGenerator(name = "todo_outbox_seq", sequenceName = "todo_outbox_seq", allocationSize = 50)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TodoChangedEvent.Type eventType;
+    @Column(nullable = false)
+    private Integer todoId;
+    @JsonRawValue
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.cm.todoapi.todo.model;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TodoPatch {
+    private String title;
+    private String description;
+    private Boolean completed;
+    private LocalDate createdAt;
+}
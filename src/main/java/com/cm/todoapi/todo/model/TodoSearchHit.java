@@ -0,0 +1,12 @@
+package com.cm.todoapi.todo.model;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TodoSearchHit {
+    private Todo todo;
+    private Float rank;
+}
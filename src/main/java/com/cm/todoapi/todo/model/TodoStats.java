@@ -0,0 +1,16 @@
+package com.cm.todoapi.todo.model;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TodoStats {
+    private long open;
+    private long completed;
+    private Map<LocalDate, Long> createdPerDay;
+}
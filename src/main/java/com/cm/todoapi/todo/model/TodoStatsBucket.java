@@ -0,0 +1,18 @@
+package com.cm.todoapi.todo.model;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TodoStatsBucket {
+    private boolean completed;
+    private LocalDate createdAt;
+
+    public static TodoStatsBucket of(Todo todo) {
+        return new TodoStatsBucket(todo.isCompleted(), todo.getCreatedAt());
+    }
+}
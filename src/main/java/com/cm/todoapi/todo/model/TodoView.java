@@ -0,0 +1,10 @@
+package com.cm.todoapi.todo.model;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only todo as the list and export endpoints return it. Same JSON shape as {@link Todo},
+ * loaded without going through the persistence context.
+ */
+public record TodoView(Integer id, String title, String description, boolean completed, LocalDate createdAt) {
+}
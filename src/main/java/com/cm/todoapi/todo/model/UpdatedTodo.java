@@ -0,0 +1,7 @@
+package com.cm.todoapi.todo.model;
+
+/**
+ * A todo as an update left it, together with the stats bucket it was in before the update.
+ */
+public record UpdatedTodo(TodoStatsBucket previous, Todo todo) {
+}
@@ -0,0 +1,9 @@
+package com.cm.todoapi.todo.repository;
+
+import com.cm.todoapi.todo.model.ArchivedTodo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo,Integer> {
+}
@@ -0,0 +1,20 @@
+package com.cm.todoapi.todo.repository;
+
+import com.cm.todoapi.todo.model.TodoIdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface TodoIdempotencyRecordRepository extends JpaRepository<TodoIdempotencyRecord, String> {
+    @Modifying
+    @Query(value = "INSERT INTO todo_idempotency_key (idempotency_key, fingerprint, completed, recorded_at) "
+            + "VALUES (:key, :fingerprint, FALSE, :recordedAt)", nativeQuery = true)
+    int reserve(@Param("key") String key, @Param("fingerprint") String fingerprint, @Param("recordedAt") LocalDateTime recordedAt);
+
+    @Modifying
+    @Query("delete from TodoIdempotencyRecord r where r.recordedAt < :cutoff")
+    int deleteByRecordedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
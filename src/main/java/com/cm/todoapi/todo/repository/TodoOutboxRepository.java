@@ -0,0 +1,21 @@
+package com.cm.todoapi.todo.repository;
+
+import com.cm.todoapi.todo.model.TodoOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
+
+public interface TodoOutboxRepository extends JpaRepository<TodoOutboxEntry, Long> {
+    String SKIP_LOCKED = "-2";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("select e from TodoOutboxEntry e order by e.id")
+    List<TodoOutboxEntry> lockNextBatch(Pageable pageable);
+}
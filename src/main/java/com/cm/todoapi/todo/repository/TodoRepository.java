@@ -1,9 +1,42 @@
 package com.cm.todoapi.todo.repository;
 
 import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoCollectionState;
+import com.cm.todoapi.todo.model.TodoDayCount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface TodoRepository extends JpaRepository<Todo,Integer> {
+public interface TodoRepository extends JpaRepository<Todo,Integer>, TodoRepositoryCustom {
+
+    List<Todo> findAllByOwnerIdOrderById(String ownerId);
+
+    Optional<Todo> findByOwnerIdAndId(String ownerId, Integer id);
+
+    List<Todo> findAllByOwnerIdAndIdIn(String ownerId, Collection<Integer> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Todo t where t.ownerId = :ownerId and t.id in :ids")
+    List<Todo> lockAllByOwnerIdAndIdIn(@Param("ownerId") String ownerId, @Param("ids") Collection<Integer> ids);
+
+    boolean existsByOwnerIdAndId(String ownerId, Integer id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.deletedAt = current_timestamp, t.version = t.version + 1 where t.ownerId = :ownerId and t.id in :ids and t.deletedAt is null")
+    int removeAllById(@Param("ownerId") String ownerId, @Param("ids") Collection<Integer> ids);
+
+    @Query("select new com.cm.todoapi.todo.model.TodoDayCount(t.createdAt, t.completed, count(t)) from Todo t where t.ownerId = :ownerId group by t.createdAt, t.completed")
+    List<TodoDayCount> countByDay(@Param("ownerId") String ownerId);
+
+    @Query("select new com.cm.todoapi.todo.model.TodoCollectionState(count(t), coalesce(max(t.id), 0), coalesce(sum(t.version), 0)) from Todo t where t.ownerId = :ownerId")
+    TodoCollectionState findCollectionState(@Param("ownerId") String ownerId);
 }
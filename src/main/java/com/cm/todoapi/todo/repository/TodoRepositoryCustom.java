@@ -0,0 +1,27 @@
+package com.cm.todoapi.todo.repository;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoKey;
+import com.cm.todoapi.todo.model.TodoPatch;
+import com.cm.todoapi.todo.model.TodoSearchHit;
+import com.cm.todoapi.todo.model.TodoStatsBucket;
+import com.cm.todoapi.todo.model.UpdatedTodo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TodoRepositoryCustom {
+    List<TodoSearchHit> search(String ownerId, String query, Float afterRank, Integer afterId, int limit);
+
+    List<TodoKey> archive(LocalDateTime deletedBefore, LocalDateTime completedBefore, int limit);
+
+    int createMonthlyPartitions(LocalDate from, LocalDate through);
+
+    Optional<UpdatedTodo> updateReturning(String ownerId, Integer id, Todo todo, Long expectedVersion);
+
+    Optional<UpdatedTodo> patchReturning(String ownerId, Integer id, TodoPatch patch, Long expectedVersion);
+
+    Optional<TodoStatsBucket> removeReturning(String ownerId, Integer id, Long expectedVersion);
+}
@@ -0,0 +1,269 @@
+package com.cm.todoapi.todo.repository;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoKey;
+import com.cm.todoapi.todo.model.TodoPatch;
+import com.cm.todoapi.todo.model.TodoSearchHit;
+import com.cm.todoapi.todo.model.TodoStatsBucket;
+import com.cm.todoapi.todo.model.UpdatedTodo;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.LocalDateType;
+import org.hibernate.type.StandardBasicTypes;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class TodoRepositoryImpl implements TodoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Boolean postgres;
+
+    @Override
+    public List<TodoSearchHit> search(String ownerId, String query, Float afterRank, Integer afterId, int limit) {
+        if (isPostgres()) {
+            String after = afterRank == null ? "" : " WHERE hits.rank < :afterRank OR (hits.rank = :afterRank AND hits.id > :afterId)";
+            NativeQuery<?> search = entityManager.createNativeQuery("SELECT * FROM ("
+                            + "SELECT t.*, ts_rank_cd(t.search_vector, q) AS rank FROM todo t, websearch_to_tsquery('english', :query) q "
+                            + "WHERE t.owner_id = :ownerId AND t.search_vector @@ q AND t.deleted_at IS NULL) hits" + after + " ORDER BY hits.rank DESC, hits.id LIMIT :limit")
+                    .unwrap(NativeQuery.class)
+                    .addEntity("hits", Todo.class)
+                    .addScalar("rank", StandardBasicTypes.FLOAT);
+            search.setParameter("ownerId", ownerId).setParameter("query", query).setParameter("limit", limit);
+            if (afterRank != null) {
+                search.setParameter("afterRank", afterRank).setParameter("afterId", afterId);
+            }
+            return search.getResultList().stream()
+                    .map(Object[].class::cast)
+                    .map(row -> new TodoSearchHit((Todo) row[0], (Float) row[1]))
+                    .toList();
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> search = builder.createTupleQuery();
+        Root<Todo> todo = search.from(Todo.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.equal(todo.get("ownerId"), ownerId));
+        Expression<Integer> rank = builder.literal(0);
+        for (String term : query.toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (term.isBlank()) {
+                continue;
+            }
+            String pattern = "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            Predicate inTitle = builder.like(builder.lower(todo.<String>get("title")), pattern, '\\');
+            Predicate inDescription = builder.like(builder.lower(todo.<String>get("description")), pattern, '\\');
+            predicates.add(builder.or(inTitle, inDescription));
+            rank = builder.sum(rank, builder.sum(
+                    builder.<Integer>selectCase().when(inTitle, 2).otherwise(0),
+                    builder.<Integer>selectCase().when(inDescription, 1).otherwise(0)));
+        }
+        if (afterRank != null) {
+            predicates.add(builder.or(builder.lessThan(rank, afterRank.intValue()),
+                    builder.and(builder.equal(rank, afterRank.intValue()), builder.greaterThan(todo.<Integer>get("id"), afterId))));
+        }
+        search.multiselect(todo, rank)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.desc(rank), builder.asc(todo.get("id")));
+
+        return entityManager.createQuery(search).setMaxResults(limit).getResultList().stream()
+                .map(row -> new TodoSearchHit(row.get(0, Todo.class), ((Number) row.get(1)).floatValue()))
+                .toList();
+    }
+
+    @Override
+    public List<TodoKey> archive(LocalDateTime deletedBefore, LocalDateTime completedBefore, int limit) {
+        String candidates = " FROM todo WHERE deleted_at <= :deletedBefore "
+                + "OR (completed AND deleted_at IS NULL AND COALESCE(completed_at, created_at) <= :completedBefore) ORDER BY id LIMIT :limit";
+        String copy = "INSERT INTO todo_archive (id, owner_id, title, description, completed, created_at, completed_at, version, deleted_at, archived_at) "
+                + "SELECT id, owner_id, title, description, completed, created_at, completed_at, version, deleted_at, CURRENT_TIMESTAMP FROM ";
+        if (isPostgres()) {
+            List<?> moved = entityManager.createNativeQuery("WITH moved AS (DELETE FROM todo WHERE id IN (SELECT id" + candidates + " FOR UPDATE SKIP LOCKED) RETURNING *), "
+                            + "copied AS (" + copy + "moved) SELECT owner_id, id FROM moved")
+                    .setParameter("deletedBefore", deletedBefore)
+                    .setParameter("completedBefore", completedBefore)
+                    .setParameter("limit", limit)
+                    .getResultList();
+            return toKeys(moved);
+        }
+
+        List<TodoKey> keys = toKeys(entityManager.createNativeQuery("SELECT owner_id, id" + candidates)
+                .setParameter("deletedBefore", deletedBefore)
+                .setParameter("completedBefore", completedBefore)
+                .setParameter("limit", limit)
+                .getResultList());
+        if (keys.isEmpty()) {
+            return keys;
+        }
+        List<Integer> ids = keys.stream().map(TodoKey::id).toList();
+        entityManager.createNativeQuery(copy + "todo WHERE id IN (:ids)").setParameter("ids", ids).executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM todo WHERE id IN (:ids)").setParameter("ids", ids).executeUpdate();
+        return keys;
+    }
+
+    @Override
+    public int createMonthlyPartitions(LocalDate from, LocalDate through) {
+        if (!isPostgres()) {
+            return 0;
+        }
+        Number created = (Number) entityManager.createNativeQuery("SELECT create_todo_partitions(CAST(:from AS DATE), CAST(:through AS DATE))")
+                .setParameter("from", from)
+                .setParameter("through", through)
+                .getSingleResult();
+        return created.intValue();
+    }
+
+    @Override
+    public Optional<UpdatedTodo> updateReturning(String ownerId, Integer id, Todo todo, Long expectedVersion) {
+        List<Assignment> assignments = List.of(
+                new Assignment("title", "title", todo.getTitle()),
+                new Assignment("description", "description", todo.getDescription()),
+                new Assignment("completed", "completed", todo.isCompleted()),
+                new Assignment("createdAt", "created_at", todo.getCreatedAt()));
+        return updateReturning(ownerId, id, assignments, todo.isCompleted(), expectedVersion);
+    }
+
+    @Override
+    public Optional<UpdatedTodo> patchReturning(String ownerId, Integer id, TodoPatch patch, Long expectedVersion) {
+        List<Assignment> assignments = new ArrayList<>();
+        if (patch.getTitle() != null) {
+            assignments.add(new Assignment("title", "title", patch.getTitle()));
+        }
+        if (patch.getDescription() != null) {
+            assignments.add(new Assignment("description", "description", patch.getDescription()));
+        }
+        if (patch.getCompleted() != null) {
+            assignments.add(new Assignment("completed", "completed", patch.getCompleted()));
+        }
+        if (patch.getCreatedAt() != null) {
+            assignments.add(new Assignment("createdAt", "created_at", patch.getCreatedAt()));
+        }
+        if (assignments.isEmpty()) {
+            return findLive(ownerId, id, expectedVersion, LockModeType.NONE).map(todo -> new UpdatedTodo(TodoStatsBucket.of(todo), todo));
+        }
+        return updateReturning(ownerId, id, assignments, patch.getCompleted(), expectedVersion);
+    }
+
+    @Override
+    public Optional<TodoStatsBucket> removeReturning(String ownerId, Integer id, Long expectedVersion) {
+        entityManager.flush();
+        if (isPostgres()) {
+            String versionCondition = expectedVersion == null ? "" : " AND version = :expectedVersion";
+            NativeQuery<?> query = entityManager.createNativeQuery("UPDATE todo SET deleted_at = CURRENT_TIMESTAMP, version = version + 1 "
+                            + "WHERE owner_id = :ownerId AND id = :id AND deleted_at IS NULL" + versionCondition + " RETURNING completed, created_at")
+                    .unwrap(NativeQuery.class)
+                    .addScalar("completed", StandardBasicTypes.BOOLEAN)
+                    .addScalar("created_at", LocalDateType.INSTANCE);
+            if (expectedVersion != null) {
+                query.setParameter("expectedVersion", expectedVersion);
+            }
+            return query.setParameter("ownerId", ownerId).setParameter("id", id).getResultList().stream()
+                    .map(Object[].class::cast)
+                    .map(row -> new TodoStatsBucket((Boolean) row[0], (LocalDate) row[1]))
+                    .findFirst();
+        }
+
+        return findLive(ownerId, id, expectedVersion, LockModeType.PESSIMISTIC_WRITE).map(todo -> {
+            TodoStatsBucket previous = TodoStatsBucket.of(todo);
+            todo.setDeletedAt(LocalDateTime.now());
+            entityManager.flush();
+            return previous;
+        });
+    }
+
+    /**
+     * Applies the assignments and, when {@code completed} is given, stamps {@code completed_at} the way
+     * the {@link Todo} lifecycle callbacks do: set on the first completion, kept while the todo stays
+     * completed and cleared when it is reopened.
+     * <p>
+     * The stats bucket the todo was in comes from the row the update locked, not from an earlier read,
+     * so a concurrent write can never slip in between.
+     */
+    private Optional<UpdatedTodo> updateReturning(String ownerId, Integer id, List<Assignment> assignments, Boolean completed, Long expectedVersion) {
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now();
+        if (isPostgres()) {
+            String columns = assignments.stream().map(assignment -> assignment.column() + " = :" + assignment.attribute()).collect(Collectors.joining(", "));
+            if (completed != null) {
+                columns += completed ? ", completed_at = COALESCE(t.completed_at, :completedAt)" : ", completed_at = NULL";
+            }
+            String versionCondition = expectedVersion == null ? "" : " AND version = :expectedVersion";
+            NativeQuery<?> query = entityManager.createNativeQuery("UPDATE todo t SET " + columns + ", version = t.version + 1 "
+                            + "FROM (SELECT id, completed, created_at FROM todo WHERE owner_id = :ownerId AND id = :id AND deleted_at IS NULL" + versionCondition + " FOR UPDATE) previous "
+                            + "WHERE t.owner_id = :ownerId AND t.id = previous.id "
+                            + "RETURNING t.*, previous.completed AS previous_completed, previous.created_at AS previous_created_at")
+                    .unwrap(NativeQuery.class)
+                    .addEntity("t", Todo.class)
+                    .addScalar("previous_completed", StandardBasicTypes.BOOLEAN)
+                    .addScalar("previous_created_at", LocalDateType.INSTANCE);
+            assignments.forEach(assignment -> query.setParameter(assignment.attribute(), assignment.value()));
+            if (Boolean.TRUE.equals(completed)) {
+                query.setParameter("completedAt", now);
+            }
+            if (expectedVersion != null) {
+                query.setParameter("expectedVersion", expectedVersion);
+            }
+            return query.setParameter("ownerId", ownerId).setParameter("id", id).getResultList().stream()
+                    .map(Object[].class::cast)
+                    .map(row -> new UpdatedTodo(new TodoStatsBucket((Boolean) row[1], (LocalDate) row[2]), (Todo) row[0]))
+                    .findFirst();
+        }
+
+        Optional<TodoStatsBucket> previous = findLive(ownerId, id, expectedVersion, LockModeType.PESSIMISTIC_WRITE).map(TodoStatsBucket::of);
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Todo> update = builder.createCriteriaUpdate(Todo.class);
+        Root<Todo> todo = update.from(Todo.class);
+        assignments.forEach(assignment -> update.set(todo.get(assignment.attribute()), assignment.value()));
+        if (completed != null) {
+            Path<LocalDateTime> completedAt = todo.get("completedAt");
+            update.set(completedAt, completed ? builder.coalesce(completedAt, now) : builder.nullLiteral(LocalDateTime.class));
+        }
+        update.set(todo.<Long>get("version"), builder.sum(todo.<Long>get("version"), 1L));
+        update.where(builder.equal(todo.get("ownerId"), ownerId), builder.equal(todo.get("id"), id));
+        entityManager.createQuery(update).executeUpdate();
+        Todo managed = entityManager.find(Todo.class, id);
+        entityManager.refresh(managed);
+        return Optional.of(new UpdatedTodo(previous.get(), managed));
+    }
+
+    private Optional<Todo> findLive(String ownerId, Integer id, Long expectedVersion, LockModeType lockMode) {
+        return Optional.ofNullable(entityManager.find(Todo.class, id, lockMode))
+                .filter(todo -> ownerId.equals(todo.getOwnerId()))
+                .filter(todo -> todo.getDeletedAt() == null)
+                .filter(todo -> expectedVersion == null || expectedVersion.equals(todo.getVersion()));
+    }
+
+    private List<TodoKey> toKeys(List<?> rows) {
+        return rows.stream()
+                .map(Object[].class::cast)
+                .map(row -> new TodoKey((String) row[0], ((Number) row[1]).intValue()))
+                .toList();
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+            postgres = sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQL81Dialect;
+        }
+        return postgres;
+    }
+
+    private record Assignment(String attribute, String column, Object value) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.cm.todoapi.todo.repository;
+
+import com.cm.todoapi.todo.model.TodoFilter;
+import com.cm.todoapi.todo.model.TodoView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads live todos straight into {@link TodoView} records with plain JDBC. Nothing is attached
+ * to the persistence context, so a read keeps no entity snapshots and needs no flush or dirty
+ * check. Callers run inside a read-only transaction so the connection is shared with JPA and
+ * routed like every other read.
+ */
+@Repository
+public class TodoViewRepository {
+    private static final String COLUMNS = "SELECT id, title, description, completed, created_at FROM todo WHERE owner_id = ? AND deleted_at IS NULL";
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final RowMapper<TodoView> TODO_VIEW = (row, rowNum) -> {
+        Date createdAt = row.getDate(5);
+        return new TodoView(row.getInt(1), row.getString(2), row.getString(3), row.getBoolean(4), createdAt == null ? null : createdAt.toLocalDate());
+    };
+
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TodoViewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<TodoView> findPage(String ownerId, TodoFilter filter, Integer afterId, int limit) {
+        StringBuilder sql = new StringBuilder(COLUMNS);
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(ownerId);
+        if (afterId != null) {
+            sql.append(" AND id > ?");
+            parameters.add(afterId);
+        }
+        if (filter.getCompleted() != null) {
+            sql.append(" AND completed = ?");
+            parameters.add(filter.getCompleted());
+        }
+        if (filter.getCreatedFrom() != null) {
+            sql.append(" AND created_at >= ?");
+            parameters.add(Date.valueOf(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            sql.append(" AND created_at <= ?");
+            parameters.add(Date.valueOf(filter.getCreatedTo()));
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        parameters.add(limit);
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            statement.setFetchSize(limit);
+            for (int index = 0; index < parameters.size(); index++) {
+                statement.setObject(index + 1, parameters.get(index));
+            }
+            return statement;
+        }, TODO_VIEW);
+    }
+
+    public void forEach(String ownerId, Consumer<TodoView> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(COLUMNS + " ORDER BY id");
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            statement.setString(1, ownerId);
+            return statement;
+        }, row -> {
+            action.accept(TODO_VIEW.mapRow(row, row.getRow()));
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.cm.todoapi.todo.response;
+
+import com.cm.todoapi.todo.model.Todo;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TodoBatchResult {
+    int index;
+    Status status;
+    Todo todo;
+    Object error;
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND, FAILED
+    }
+
+    public static TodoBatchResult success(int index, Status status, Todo todo) {
+        return new TodoBatchResult(index, status, todo, null);
+    }
+
+    public static TodoBatchResult failure(int index, Status status, Object error) {
+        return new TodoBatchResult(index, status, null, error);
+    }
+}
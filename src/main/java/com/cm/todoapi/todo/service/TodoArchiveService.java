@@ -0,0 +1,128 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.config.TodoArchiveProperties;
+import com.cm.todoapi.todo.config.TodoCacheConfig;
+import com.cm.todoapi.todo.model.TodoKey;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import com.cm.todoapi.todo.tenant.TenantShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves soft-deleted todos older than {@code todo.archive.deleted-retention} and todos completed
+ * longer than {@code todo.archive.completed-retention} ago from {@code todo} to {@code todo_archive}.
+ * <p>
+ * Each batch of {@code todo.archive.batch-size} rows is moved in its own short transaction. Between
+ * batches the job sleeps for {@code todo.archive.pause} or for as long as the previous batch took,
+ * whichever is longer, so it never holds the database for more than half of its running time. A
+ * run stops after {@code todo.archive.max-batches-per-run} batches and picks up the rest next time.
+ * With tenant sharding every shard is archived in turn. Afterwards only the cached todos, first
+ * pages and stats of the tenants that lost rows are evicted.
+ */
+@Service
+public class TodoArchiveService {
+    TodoRepository todoRepository;
+    TransactionTemplate transactionTemplate;
+    TodoArchiveProperties properties;
+    CacheManager cacheManager;
+    TenantShards tenantShards;
+    TodoStatsService todoStatsService;
+
+    private final Counter rowsMoved;
+    private final DistributionSummary rowsMovedPerRun;
+    private final Timer runTimer;
+
+    @Autowired
+    public TodoArchiveService(TodoRepository todoRepository, TransactionTemplate transactionTemplate, TodoArchiveProperties properties,
+                              CacheManager cacheManager, TenantShards tenantShards, TodoStatsService todoStatsService,
+                              MeterRegistry meterRegistry) {
+        this.todoRepository = todoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+        this.tenantShards = tenantShards;
+        this.todoStatsService = todoStatsService;
+        this.rowsMoved = meterRegistry.counter("todo.archive.rows");
+        this.rowsMovedPerRun = DistributionSummary.builder("todo.archive.run.rows").register(meterRegistry);
+        this.runTimer = Timer.builder("todo.archive.run").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${todo.archive.interval:PT10M}", initialDelayString = "${todo.archive.interval:PT10M}")
+    public int archive() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime deletedBefore = now.minus(properties.getDeletedRetention());
+        LocalDateTime completedBefore = now.minus(properties.getCompletedRetention());
+
+        Timer.Sample sample = Timer.start();
+        List<TodoKey> moved = new ArrayList<>();
+        tenantShards.forEach(() -> archiveBatches(deletedBefore, completedBefore, moved));
+        sample.stop(runTimer);
+        rowsMoved.increment(moved.size());
+        rowsMovedPerRun.record(moved.size());
+        evict(moved);
+        return moved.size();
+    }
+
+    private void archiveBatches(LocalDateTime deletedBefore, LocalDateTime completedBefore, List<TodoKey> moved) {
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            long started = System.nanoTime();
+            List<TodoKey> batchMoved = transactionTemplate.execute(status -> todoRepository.archive(deletedBefore, completedBefore, properties.getBatchSize()));
+            moved.addAll(batchMoved);
+            if (batchMoved.size() < properties.getBatchSize() || !pause(Math.max(properties.getPause().toNanos(), System.nanoTime() - started))) {
+                break;
+            }
+        }
+    }
+
+    private boolean pause(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void evict(List<TodoKey> moved) {
+        Cache todos = cacheManager.getCache(TodoCacheConfig.TODO);
+        Cache firstPages = cacheManager.getCache(TodoCacheConfig.FIRST_PAGE);
+        Set<String> tenants = new HashSet<>();
+        for (TodoKey key : moved) {
+            boolean firstOfTenant = tenants.add(key.ownerId());
+            TenantContext.runAs(key.ownerId(), () -> {
+                evict(todos, TenantContext.key(key.id()));
+                if (firstOfTenant) {
+                    evict(firstPages, TenantContext.key("first"));
+                    evict(firstPages, TenantContext.key("state"));
+                }
+            });
+        }
+        todoStatsService.invalidate(tenants);
+    }
+
+    private void evict(Cache cache, String key) {
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.config.TodoBatchProperties;
+import com.cm.todoapi.todo.config.TodoCacheConfig;
+import com.cm.todoapi.todo.events.TodoChangedEvent;
+import com.cm.todoapi.todo.exceptions.TodoBatchTooLargeException;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoStatsBucket;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import com.cm.todoapi.todo.response.TodoBatchResult;
+import com.cm.todoapi.todo.response.TodoBatchResult.Status;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "todo.service", histogram = true)
+public class TodoBatchService {
+    TodoRepository todoRepository;
+    TransactionTemplate transactionTemplate;
+    Validator validator;
+    TodoBatchProperties batchProperties;
+    CacheManager cacheManager;
+    ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    public TodoBatchService(TodoRepository todoRepository, TransactionTemplate transactionTemplate, Validator validator, TodoBatchProperties batchProperties, CacheManager cacheManager, ApplicationEventPublisher eventPublisher) {
+        this.todoRepository = todoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.batchProperties = batchProperties;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.FIRST_PAGE_KEY),
+            @CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.STATE_KEY)})
+    public List<TodoBatchResult> createTodos(List<Todo> todos) {
+        checkSize(todos.size());
+        TodoBatchResult[] results = new TodoBatchResult[todos.size()];
+        List<Integer> valid = validate(todos, results);
+
+        forEachChunk(valid, chunk -> {
+            List<Todo> newTodos = chunk.stream().map(index -> {
+                Todo todo = todos.get(index);
+                todo.setId(null);
+                todo.setOwnerId(TenantContext.current());
+                return todo;
+            }).toList();
+            todoRepository.saveAll(newTodos);
+            entityManager.flush();
+            entityManager.clear();
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = TodoBatchResult.success(chunk.get(i), Status.CREATED, newTodos.get(i));
+                eventPublisher.publishEvent(TodoChangedEvent.created(newTodos.get(i)));
+            }
+        }, results);
+        return Arrays.asList(results);
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.FIRST_PAGE_KEY),
+            @CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.STATE_KEY)})
+    public List<TodoBatchResult> updateTodos(List<Todo> todos) {
+        checkSize(todos.size());
+        TodoBatchResult[] results = new TodoBatchResult[todos.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (Integer index : validate(todos, results)) {
+            if (todos.get(index).getId() == null) {
+                results[index] = TodoBatchResult.failure(index, Status.INVALID, List.of("Provide an id"));
+            } else {
+                valid.add(index);
+            }
+        }
+
+        forEachChunk(valid, chunk -> {
+            Map<Integer, Todo> existing = findAllById(chunk.stream().map(index -> todos.get(index).getId()).toList());
+            for (Integer index : chunk) {
+                Todo update = todos.get(index);
+                Todo todo = existing.get(update.getId());
+                if (todo == null) {
+                    results[index] = TodoBatchResult.failure(index, Status.NOT_FOUND, "Todo with id " + update.getId() + " is not found");
+                    continue;
+                }
+                TodoStatsBucket previous = TodoStatsBucket.of(todo);
+                todo.setTitle(update.getTitle());
+                todo.setDescription(update.getDescription());
+                todo.setCompleted(update.isCompleted());
+                todo.setCreatedAt(update.getCreatedAt());
+                results[index] = TodoBatchResult.success(index, Status.UPDATED, todo);
+                eventPublisher.publishEvent(TodoChangedEvent.updated(previous, todo));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }, results);
+        evictTodos(valid.stream().map(index -> todos.get(index).getId()).toList());
+        return Arrays.asList(results);
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.FIRST_PAGE_KEY),
+            @CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.STATE_KEY)})
+    public List<TodoBatchResult> deleteTodos(List<Integer> ids) {
+        checkSize(ids.size());
+        TodoBatchResult[] results = new TodoBatchResult[ids.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int index = 0; index < ids.size(); index++) {
+            if (ids.get(index) == null) {
+                results[index] = TodoBatchResult.failure(index, Status.INVALID, List.of("Provide an id"));
+            } else {
+                valid.add(index);
+            }
+        }
+
+        forEachChunk(valid, chunk -> {
+            Map<Integer, Todo> existing = todoRepository.lockAllByOwnerIdAndIdIn(TenantContext.current(), chunk.stream().map(ids::get).toList()).stream()
+                    .collect(Collectors.toMap(Todo::getId, Function.identity()));
+            if (!existing.isEmpty()) {
+                todoRepository.removeAllById(TenantContext.current(), existing.keySet());
+            }
+            Set<Integer> deleted = new HashSet<>();
+            for (Integer index : chunk) {
+                Integer id = ids.get(index);
+                if (existing.containsKey(id) && deleted.add(id)) {
+                    results[index] = TodoBatchResult.success(index, Status.DELETED, null);
+                    eventPublisher.publishEvent(TodoChangedEvent.deleted(TenantContext.current(), id, TodoStatsBucket.of(existing.get(id))));
+                } else {
+                    results[index] = TodoBatchResult.failure(index, Status.NOT_FOUND, "Todo with id " + id + " is not found");
+                }
+            }
+            entityManager.clear();
+        }, results);
+        evictTodos(valid.stream().map(ids::get).toList());
+        return Arrays.asList(results);
+    }
+
+    private void checkSize(int size) {
+        if (size > batchProperties.getMaxItems()) {
+            throw new TodoBatchTooLargeException(size, batchProperties.getMaxItems());
+        }
+    }
+
+    private List<Integer> validate(List<Todo> todos, TodoBatchResult[] results) {
+        List<Integer> valid = new ArrayList<>();
+        for (int index = 0; index < todos.size(); index++) {
+            Todo todo = todos.get(index);
+            if (todo == null) {
+                results[index] = TodoBatchResult.failure(index, Status.INVALID, List.of("Provide a todo"));
+                continue;
+            }
+            Set<ConstraintViolation<Todo>> violations = validator.validate(todo);
+            if (violations.isEmpty()) {
+                valid.add(index);
+            } else {
+                results[index] = TodoBatchResult.failure(index, Status.INVALID, violations.stream().map(ConstraintViolation::getMessage).sorted().toList());
+            }
+        }
+        return valid;
+    }
+
+    private void evictTodos(List<Integer> ids) {
+        Cache cache = cacheManager.getCache(TodoCacheConfig.TODO);
+        if (cache != null) {
+            ids.forEach(id -> cache.evict(TenantContext.key(id)));
+        }
+    }
+
+    private Map<Integer, Todo> findAllById(List<Integer> ids) {
+        return todoRepository.findAllByOwnerIdAndIdIn(TenantContext.current(), ids).stream().collect(Collectors.toMap(Todo::getId, Function.identity()));
+    }
+
+    private void forEachChunk(List<Integer> indexes, Consumer<List<Integer>> action, TodoBatchResult[] results) {
+        int chunkSize = batchProperties.getChunkSize();
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + chunkSize, indexes.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> action.accept(chunk));
+            } catch (DataAccessException | PersistenceException | TransactionException exception) {
+                for (Integer index : chunk) {
+                    results[index] = TodoBatchResult.failure(index, Status.FAILED, NestedExceptionUtils.getMostSpecificCause(exception).getMessage());
+                }
+            }
+        }
+    }
+}
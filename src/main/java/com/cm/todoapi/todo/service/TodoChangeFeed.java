@@ -0,0 +1,218 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.config.TodoChangeFeedProperties;
+import com.cm.todoapi.todo.events.TodoChangedEvent;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed todo changes to Server-Sent Events subscribers.
+ * <p>
+ * Every tenant has its own channel with its own lock, sequence and replay buffer, so commits of
+ * one tenant never wait for another tenant's subscribers. Every change gets a resume token made
+ * of the channel's epoch and sequence number. The last {@code todo.changes.replay-size}
+ * changes of a tenant are kept so a reconnecting client that sends its last token replays only what
+ * it missed. A client whose token is unknown, or whose own buffer of
+ * {@code todo.changes.subscriber-buffer-size} undelivered changes overflows, receives a
+ * {@value #RESYNC_EVENT} event and should reload the list before applying further changes.
+ * Channels without subscribers are kept for at most {@code todo.changes.max-idle-tenants} tenants.
+ * <p>
+ * Subscribers hold no thread while idle. Pending changes are written from a dedicated pool of
+ * {@code todo.changes.sender-threads} threads, so slow clients never tie up the application task
+ * executor. Only changes committed on this node are pushed.
+ */
+@Service
+public class TodoChangeFeed {
+    static final String RESYNC_EVENT = "resync";
+
+    TodoChangeFeedProperties properties;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong channelIds = new AtomicLong();
+    private final Cache<String, Channel> channels;
+    private final ExecutorService senders;
+
+    @Autowired
+    public TodoChangeFeed(TodoChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.channels = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxIdleTenants())
+                .<String, Channel>weigher((tenant, channel) -> channel.subscribers.isEmpty() ? 1 : 0)
+                .build();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("todo-changes-");
+        threadFactory.setDaemon(true);
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads(), threadFactory);
+        meterRegistry.gauge("todo.changes.subscribers", Tags.empty(), channels,
+                cache -> cache.asMap().values().stream().mapToInt(channel -> channel.subscribers.size()).sum());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTodoChanged(TodoChangedEvent event) {
+        channels.get(event.getOwnerId(), tenant -> new Channel()).publish(event);
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        String tenant = TenantContext.current();
+        Subscriber subscriber = new Subscriber(tenant, new SseEmitter(properties.getTimeout().toMillis()));
+        subscriber.emitter.onCompletion(subscriber::leave);
+        subscriber.emitter.onTimeout(subscriber::leave);
+        subscriber.emitter.onError(error -> subscriber.leave());
+        channels.asMap().compute(tenant, (key, existing) -> {
+            Channel channel = existing != null ? existing : new Channel();
+            channel.join(subscriber, lastEventId);
+            return channel;
+        });
+        return subscriber.emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private record Change(long sequence, String token, TodoChangedEvent event) {
+    }
+
+    private final class Channel {
+        private final String epoch = TodoChangeFeed.this.epoch + "." + channelIds.incrementAndGet();
+        private final Deque<Change> recent = new ArrayDeque<>();
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private long sequence;
+
+        synchronized void publish(TodoChangedEvent event) {
+            long next = ++sequence;
+            Change change = new Change(next, token(next), event);
+            recent.addLast(change);
+            if (recent.size() > properties.getReplaySize()) {
+                recent.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(change));
+        }
+
+        synchronized void join(Subscriber subscriber, String lastEventId) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                Long resumeAfter = parseToken(lastEventId);
+                long oldest = recent.isEmpty() ? sequence + 1 : recent.getFirst().sequence();
+                if (resumeAfter == null || resumeAfter > sequence || resumeAfter < oldest - 1) {
+                    subscriber.resync();
+                } else {
+                    recent.stream().filter(change -> change.sequence() > resumeAfter).forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        private Long parseToken(String token) {
+            int separator = token.indexOf(':');
+            if (separator < 0 || !epoch.equals(token.substring(0, separator))) {
+                return null;
+            }
+            try {
+                return Long.valueOf(token.substring(separator + 1));
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+
+        private String token(long sequence) {
+            return epoch + ":" + sequence;
+        }
+    }
+
+    private final class Subscriber {
+        private final String ownerId;
+        private final SseEmitter emitter;
+        private final Deque<Change> pending = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private boolean resyncPending;
+
+        private Subscriber(String ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+        }
+
+        void leave() {
+            channels.asMap().computeIfPresent(ownerId, (tenant, channel) -> {
+                channel.subscribers.remove(this);
+                return channel;
+            });
+        }
+
+        void offer(Change change) {
+            synchronized (this) {
+                if (pending.size() >= properties.getSubscriberBufferSize()) {
+                    pending.clear();
+                    resyncPending = true;
+                } else {
+                    pending.addLast(change);
+                }
+            }
+            scheduleDrain();
+        }
+
+        void resync() {
+            synchronized (this) {
+                pending.clear();
+                resyncPending = true;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder next;
+                synchronized (this) {
+                    if (resyncPending) {
+                        resyncPending = false;
+                        next = SseEmitter.event().name(RESYNC_EVENT).data("");
+                    } else if (!pending.isEmpty()) {
+                        Change change = pending.removeFirst();
+                        next = SseEmitter.event()
+                                .id(change.token())
+                                .name(change.event().getType().name().toLowerCase(Locale.ROOT))
+                                .data(change.event(), MediaType.APPLICATION_JSON);
+                    } else {
+                        draining.set(false);
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException exception) {
+                    leave();
+                    emitter.completeWithError(exception);
+                    draining.set(false);
+                    return;
+                }
+            }
+        }
+    }
+}
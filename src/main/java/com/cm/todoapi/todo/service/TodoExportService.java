@@ -0,0 +1,56 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.model.TodoView;
+import com.cm.todoapi.todo.repository.TodoViewRepository;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Service
+@Timed(value = "todo.service", histogram = true)
+public class TodoExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    TodoViewRepository todoViewRepository;
+    ObjectWriter todoWriter;
+
+    @Autowired
+    public TodoExportService(TodoViewRepository todoViewRepository, ObjectMapper objectMapper) {
+        this.todoViewRepository = todoViewRepository;
+        this.todoWriter = objectMapper.writerFor(TodoView.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportTodos(OutputStream outputStream) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        long[] exported = {0};
+        try {
+            todoViewRepository.forEach(TenantContext.current(), todo -> {
+                try {
+                    todoWriter.writeValue(out, todo);
+                    out.write('\n');
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+                exported[0]++;
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        out.flush();
+        return exported[0];
+    }
+}
@@ -0,0 +1,126 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.exceptions.IdempotencyKeyReusedException;
+import com.cm.todoapi.todo.exceptions.InvalidIdempotencyKeyException;
+import com.cm.todoapi.todo.idempotency.TodoIdempotencyStore;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Creates a todo at most once per {@code Idempotency-Key}.
+ * <p>
+ * A key seen before is answered from the {@link TodoIdempotencyStore} without touching the
+ * todo table. Requests that arrive while the first request for their key is still running wait
+ * for its result instead of starting their own. A key may only be reused with the same todo,
+ * otherwise the request is rejected. Keys are scoped to the caller's tenant, so two tenants may
+ * use the same key independently.
+ */
+@Service
+public class TodoIdempotencyService {
+    static final int MAX_KEY_LENGTH = 255;
+
+    TodoService todoService;
+    TodoIdempotencyStore store;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter coalesced;
+
+    @Autowired
+    public TodoIdempotencyService(TodoService todoService, TodoIdempotencyStore store, MeterRegistry meterRegistry) {
+        this.todoService = todoService;
+        this.store = store;
+        this.executed = meterRegistry.counter("todo.idempotency.requests", "result", "executed");
+        this.replayed = meterRegistry.counter("todo.idempotency.requests", "result", "replayed");
+        this.coalesced = meterRegistry.counter("todo.idempotency.requests", "result", "coalesced");
+    }
+
+    public IdempotentTodo createNewTodo(String key, Todo newTodo) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(MAX_KEY_LENGTH);
+        }
+        String fingerprint = fingerprint(newTodo);
+        String scopedKey = TenantContext.key(key);
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(scopedKey, mine);
+        if (running != null) {
+            coalesced.increment();
+            return new IdempotentTodo(await(running, fingerprint, key), true);
+        }
+
+        try {
+            IdempotentTodo result = execute(scopedKey, key, fingerprint, newTodo);
+            mine.result().complete(result.todo());
+            return result;
+        } catch (RuntimeException exception) {
+            mine.result().completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(scopedKey, mine);
+        }
+    }
+
+    private IdempotentTodo execute(String scopedKey, String key, String fingerprint, Todo newTodo) {
+        Optional<TodoIdempotencyStore.Entry> stored = store.find(scopedKey);
+        if (stored.isPresent()) {
+            return replay(stored.get(), fingerprint, key);
+        }
+        AtomicBoolean created = new AtomicBoolean();
+        TodoIdempotencyStore.Entry entry = store.createOnce(scopedKey, fingerprint, () -> {
+            created.set(true);
+            return todoService.createNewTodo(newTodo);
+        });
+        if (!created.get()) {
+            return replay(entry, fingerprint, key);
+        }
+        executed.increment();
+        return new IdempotentTodo(entry.todo(), false);
+    }
+
+    private IdempotentTodo replay(TodoIdempotencyStore.Entry entry, String fingerprint, String key) {
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        replayed.increment();
+        return new IdempotentTodo(entry.todo(), true);
+    }
+
+    private static Todo await(InFlight running, String fingerprint, String key) {
+        if (!running.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        try {
+            return running.result().join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    static String fingerprint(Todo todo) {
+        String canonical = todo.getTitle() + '\u0000' + todo.getDescription() + '\u0000' + todo.isCompleted() + '\u0000' + todo.getCreatedAt();
+        return DigestUtils.md5DigestAsHex(canonical.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public record IdempotentTodo(Todo todo, boolean replayed) {
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<Todo> result) {
+    }
+}
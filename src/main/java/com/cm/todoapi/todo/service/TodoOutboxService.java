@@ -0,0 +1,90 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.config.TodoOutboxProperties;
+import com.cm.todoapi.todo.events.TodoChangedEvent;
+import com.cm.todoapi.todo.events.TodoEventSink;
+import com.cm.todoapi.todo.model.TodoOutboxEntry;
+import com.cm.todoapi.todo.repository.TodoOutboxRepository;
+import com.cm.todoapi.todo.tenant.TenantShards;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox for todo changes.
+ * <p>
+ * Every {@link TodoChangedEvent} is written to {@code todo_outbox} inside the transaction that
+ * made the change, so a rolled back write leaves no entry behind. The publisher drains the outbox
+ * in batches of {@code todo.outbox.batch-size}, locking rows with {@code FOR UPDATE SKIP LOCKED}
+ * so several nodes can drain concurrently without handing out the same entry twice. With tenant
+ * sharding the entry lands in the tenant's shard and the publisher drains every shard.
+ */
+@Service
+public class TodoOutboxService {
+    TodoOutboxRepository outboxRepository;
+    TodoEventSink eventSink;
+    TransactionTemplate transactionTemplate;
+    TodoOutboxProperties properties;
+    ObjectMapper objectMapper;
+    TenantShards tenantShards;
+
+    private final Counter published;
+    private final Counter failed;
+
+    @Autowired
+    public TodoOutboxService(TodoOutboxRepository outboxRepository, TodoEventSink eventSink, TransactionTemplate transactionTemplate,
+                             TodoOutboxProperties properties, ObjectMapper objectMapper, TenantShards tenantShards, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.eventSink = eventSink;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.tenantShards = tenantShards;
+        this.published = meterRegistry.counter("todo.outbox.published");
+        this.failed = meterRegistry.counter("todo.outbox.failed");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void record(TodoChangedEvent event) throws JsonProcessingException {
+        outboxRepository.save(new TodoOutboxEntry(null, event.getType(), event.getId(), objectMapper.writeValueAsString(event), LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${todo.outbox.poll-interval:PT1S}", initialDelayString = "${todo.outbox.poll-interval:PT1S}")
+    public void publishPending() {
+        tenantShards.forEach(this::drain);
+    }
+
+    private void drain() {
+        int drained;
+        do {
+            try {
+                drained = transactionTemplate.execute(status -> publishBatch());
+            } catch (RuntimeException exception) {
+                failed.increment();
+                return;
+            }
+        } while (drained == properties.getBatchSize());
+    }
+
+    private int publishBatch() {
+        List<TodoOutboxEntry> batch = outboxRepository.lockNextBatch(PageRequest.ofSize(properties.getBatchSize()));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        eventSink.publish(batch);
+        outboxRepository.deleteAllInBatch(batch);
+        published.increment(batch.size());
+        return batch.size();
+    }
+}
@@ -0,0 +1,54 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.config.TodoPartitionProperties;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import com.cm.todoapi.todo.tenant.TenantShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly {@code todo} partitions ready for the current month and the next
+ * {@code todo.partitions.months-ahead} months.
+ * <p>
+ * Rows outside the prepared months land in {@code todo_default}, so inserts never fail when this
+ * job falls behind. Creating a month's partition moves its rows out of the default partition.
+ * With tenant sharding every shard gets its partitions. This is a no-op on databases other than
+ * PostgreSQL.
+ */
+@Service
+public class TodoPartitionService {
+    TodoRepository todoRepository;
+    TodoPartitionProperties properties;
+    TransactionTemplate transactionTemplate;
+    TenantShards tenantShards;
+
+    private final Counter partitionsCreated;
+
+    @Autowired
+    public TodoPartitionService(TodoRepository todoRepository, TodoPartitionProperties properties, TransactionTemplate transactionTemplate,
+                                TenantShards tenantShards, MeterRegistry meterRegistry) {
+        this.todoRepository = todoRepository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.tenantShards = tenantShards;
+        this.partitionsCreated = meterRegistry.counter("todo.partitions.created");
+    }
+
+    @Scheduled(fixedDelayString = "${todo.partitions.interval:PT6H}")
+    public int createUpcomingPartitions() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate lastMonth = thisMonth.plusMonths(properties.getMonthsAhead());
+        int created = tenantShards.sum(() -> transactionTemplate.execute(status -> todoRepository.createMonthlyPartitions(thisMonth, lastMonth)));
+        partitionsCreated.increment(created);
+        return created;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+final class TodoSearchCursor {
+    private static final String PREFIX = "rank:";
+    private static final String ID_SEPARATOR = ":id:";
+
+    private TodoSearchCursor() {
+    }
+
+    static String encode(Float lastRank, Integer lastId) {
+        byte[] cursor = (PREFIX + lastRank + ID_SEPARATOR + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor);
+    }
+
+    static Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(ID_SEPARATOR);
+            if (!decoded.startsWith(PREFIX) || separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new Position(Float.valueOf(decoded.substring(PREFIX.length(), separator)),
+                    Integer.valueOf(decoded.substring(separator + ID_SEPARATOR.length())));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    record Position(Float rank, Integer id) {
+    }
+}
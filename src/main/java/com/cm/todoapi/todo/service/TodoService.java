@@ -1,44 +1,151 @@
 package com.cm.todoapi.todo.service;
 
+import com.cm.todoapi.todo.config.TodoCacheConfig;
+import com.cm.todoapi.todo.config.TodoPageProperties;
+import com.cm.todoapi.todo.events.TodoChangedEvent;
 import com.cm.todoapi.todo.model.Todo;
 import com.cm.todoapi.todo.exceptions.TodoNotFoundException;
+import com.cm.todoapi.todo.exceptions.TodoVersionConflictException;
+import com.cm.todoapi.todo.model.TodoCollectionState;
+import com.cm.todoapi.todo.model.TodoFilter;
+import com.cm.todoapi.todo.model.TodoPage;
+import com.cm.todoapi.todo.model.TodoPatch;
+import com.cm.todoapi.todo.model.TodoSearchHit;
+import com.cm.todoapi.todo.model.TodoStatsBucket;
+import com.cm.todoapi.todo.model.TodoView;
+import com.cm.todoapi.todo.model.UpdatedTodo;
 import com.cm.todoapi.todo.repository.TodoRepository;
+import com.cm.todoapi.todo.repository.TodoViewRepository;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Timed(value = "todo.service", histogram = true)
 public class TodoService {
     TodoRepository todoRepository;
+    TodoViewRepository todoViewRepository;
+    TodoPageProperties pageProperties;
+    ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public TodoService(TodoRepository todoRepository) {
+    public TodoService(TodoRepository todoRepository, TodoViewRepository todoViewRepository, TodoPageProperties pageProperties,
+                       ApplicationEventPublisher eventPublisher) {
         this.todoRepository = todoRepository;
+        this.todoViewRepository = todoViewRepository;
+        this.pageProperties = pageProperties;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<Todo> getAllTodos() {
-        return todoRepository.findAll();
+        return todoRepository.findAllByOwnerIdOrderById(TenantContext.current());
     }
 
+    @Cacheable(cacheNames = TodoCacheConfig.TODO, key = TodoCacheConfig.TODO_KEY)
+    public Todo getTodoById(Integer id) {
+        return todoRepository.findByOwnerIdAndId(TenantContext.current(), id).orElseThrow(() -> new TodoNotFoundException(id));
+    }
+
+    @Cacheable(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.FIRST_PAGE_KEY, condition = "#cursor == null && #size == null && #filter.empty")
+    @Transactional(readOnly = true)
+    public TodoPage<TodoView> getTodoPage(TodoFilter filter, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<TodoView> todos = todoViewRepository.findPage(TenantContext.current(), filter, TodoCursor.decode(cursor), pageSize + 1);
+        if (todos.size() <= pageSize) {
+            return new TodoPage<>(todos, null);
+        }
+        List<TodoView> page = todos.subList(0, pageSize);
+        return new TodoPage<>(List.copyOf(page), TodoCursor.encode(page.get(pageSize - 1).id()));
+    }
+
+    @Transactional(readOnly = true)
+    public TodoPage<Todo> searchTodos(String query, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        TodoSearchCursor.Position after = TodoSearchCursor.decode(cursor);
+        if (query == null || query.isBlank()) {
+            return new TodoPage<>(List.of(), null);
+        }
+        List<TodoSearchHit> hits = todoRepository.search(TenantContext.current(), query.trim(), after == null ? null : after.rank(), after == null ? null : after.id(), pageSize + 1);
+        List<Todo> todos = hits.stream().limit(pageSize).map(TodoSearchHit::getTodo).toList();
+        if (hits.size() <= pageSize) {
+            return new TodoPage<>(todos, null);
+        }
+        TodoSearchHit last = hits.get(pageSize - 1);
+        return new TodoPage<>(todos, TodoSearchCursor.encode(last.getRank(), last.getTodo().getId()));
+    }
+
+    @Caching(put = @CachePut(cacheNames = TodoCacheConfig.TODO, key = TodoCacheConfig.CREATED_TODO_KEY),
+            evict = {@CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.FIRST_PAGE_KEY),
+                    @CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.STATE_KEY)})
+    @Transactional
     public Todo createNewTodo(Todo newTodo) {
-        return todoRepository.save(newTodo);
+        newTodo.setId(null);
+        newTodo.setVersion(null);
+        newTodo.setOwnerId(TenantContext.current());
+        Todo created = todoRepository.save(newTodo);
+        eventPublisher.publishEvent(TodoChangedEvent.created(created));
+        return created;
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = TodoCacheConfig.TODO, key = TodoCacheConfig.TODO_KEY),
+            @CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.FIRST_PAGE_KEY),
+            @CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.STATE_KEY)})
+    @Transactional
+    public void deleteTodoById(Integer id, Long expectedVersion) {
+        String ownerId = TenantContext.current();
+        TodoStatsBucket previous = todoRepository.removeReturning(ownerId, id, expectedVersion).orElseThrow(() -> notFoundOrConflict(id, expectedVersion));
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(ownerId, id, previous));
     }
 
-    public void deleteTodoById(Integer id) {
-        Todo todo = todoRepository.findById(id).orElseThrow(() -> new TodoNotFoundException(id));
-        todoRepository.delete(todo);
+    @Caching(put = @CachePut(cacheNames = TodoCacheConfig.TODO, key = TodoCacheConfig.TODO_KEY),
+            evict = {@CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.FIRST_PAGE_KEY),
+                    @CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.STATE_KEY)})
+    @Transactional
+    public Todo updateTodoById(Integer id,Todo todo, Long expectedVersion) {
+        String ownerId = TenantContext.current();
+        UpdatedTodo updated = todoRepository.updateReturning(ownerId, id, todo, expectedVersion).orElseThrow(() -> notFoundOrConflict(id, expectedVersion));
+        eventPublisher.publishEvent(TodoChangedEvent.updated(updated.previous(), updated.todo()));
+        return updated.todo();
     }
+
+    @Caching(put = @CachePut(cacheNames = TodoCacheConfig.TODO, key = TodoCacheConfig.TODO_KEY),
+            evict = {@CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.FIRST_PAGE_KEY),
+                    @CacheEvict(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.STATE_KEY)})
     @Transactional
-    public Todo updateTodoById(Integer id,Todo todo) {
-        Todo newTodo = todoRepository.findById(id).orElseThrow(() -> new TodoNotFoundException(id));
+    public Todo patchTodoById(Integer id, TodoPatch patch, Long expectedVersion) {
+        String ownerId = TenantContext.current();
+        UpdatedTodo patched = todoRepository.patchReturning(ownerId, id, patch, expectedVersion).orElseThrow(() -> notFoundOrConflict(id, expectedVersion));
+        eventPublisher.publishEvent(TodoChangedEvent.updated(patched.previous(), patched.todo()));
+        return patched.todo();
+    }
+
+    @Cacheable(cacheNames = TodoCacheConfig.FIRST_PAGE, key = TodoCacheConfig.STATE_KEY)
+    @Transactional(readOnly = true)
+    public TodoCollectionState getCollectionState() {
+        return todoRepository.findCollectionState(TenantContext.current());
+    }
 
-        newTodo.setTitle(todo.getTitle());
-        newTodo.setDescription(todo.getDescription());
-        newTodo.setCompleted(todo.isCompleted());
-        newTodo.setCreatedAt(todo.getCreatedAt());
+    private RuntimeException notFoundOrConflict(Integer id, Long expectedVersion) {
+        if (expectedVersion != null && todoRepository.existsByOwnerIdAndId(TenantContext.current(), id)) {
+            return new TodoVersionConflictException(id);
+        }
+        return new TodoNotFoundException(id);
+    }
 
-        return newTodo;
+    private int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return pageProperties.getDefaultSize();
+        }
+        return Math.min(size, pageProperties.getMaxSize());
     }
 }
@@ -0,0 +1,173 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.config.TodoStatsProperties;
+import com.cm.todoapi.todo.events.TodoChangedEvent;
+import com.cm.todoapi.todo.model.TodoDayCount;
+import com.cm.todoapi.todo.model.TodoStats;
+import com.cm.todoapi.todo.model.TodoStatsBucket;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Open and completed counts and per-day counts of live todos, kept in memory per tenant.
+ * <p>
+ * A tenant's counters are loaded with one grouped query the first time its stats are asked for.
+ * After that every committed create, update and delete adjusts them by the change it made, so
+ * reading stats never touches the database. Writes that do not go through the services and writes
+ * from other nodes are picked up by the reconciliation every {@code todo.stats.reconcile-interval},
+ * which reloads each tracked tenant and counts the tenants it had to correct in
+ * {@code todo.stats.drift}. Changes committed while a tenant is being reloaded are recorded and
+ * replayed onto the fresh counts before they replace the old ones, so they are not lost. At most {@code todo.stats.max-tenants}
+ * tenants are tracked.
+ */
+@Service
+public class TodoStatsService {
+    TodoRepository todoRepository;
+
+    private final Cache<String, Counts> tenants;
+    private final Counter drift;
+
+    @Autowired
+    public TodoStatsService(TodoRepository todoRepository, TodoStatsProperties properties, MeterRegistry meterRegistry) {
+        this.todoRepository = todoRepository;
+        this.tenants = Caffeine.newBuilder().maximumSize(properties.getMaxTenants()).recordStats().build();
+        this.drift = meterRegistry.counter("todo.stats.drift");
+        CaffeineCacheMetrics.monitor(meterRegistry, tenants, "todoStats");
+    }
+
+    public TodoStats getStats(LocalDate createdFrom, LocalDate createdTo) {
+        return tenants.get(TenantContext.current(), this::load).snapshot(createdFrom, createdTo);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTodoChanged(TodoChangedEvent event) {
+        tenants.asMap().computeIfPresent(event.getOwnerId(), (tenant, counts) -> {
+            if (event.getType() != TodoChangedEvent.Type.CREATED && event.getPrevious() != null) {
+                counts.add(event.getPrevious(), -1);
+            }
+            if (event.getType() != TodoChangedEvent.Type.DELETED) {
+                counts.add(TodoStatsBucket.of(event.getTodo()), 1);
+            }
+            return counts;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${todo.stats.reconcile-interval:PT5M}", initialDelayString = "${todo.stats.reconcile-interval:PT5M}")
+    public int reconcile() {
+        int corrected = 0;
+        for (String tenant : List.copyOf(tenants.asMap().keySet())) {
+            Counts tracked = tenants.getIfPresent(tenant);
+            if (tracked == null) {
+                continue;
+            }
+            tracked.startRecording();
+            Counts actual;
+            try {
+                actual = TenantContext.callAs(tenant, () -> load(tenant));
+            } catch (RuntimeException exception) {
+                tracked.stopRecording();
+                throw exception;
+            }
+            AtomicBoolean drifted = new AtomicBoolean();
+            tenants.asMap().computeIfPresent(tenant, (key, current) -> {
+                if (current != tracked) {
+                    return current;
+                }
+                actual.replay(tracked.stopRecording());
+                drifted.set(!tracked.sameAs(actual));
+                return actual;
+            });
+            if (drifted.get()) {
+                corrected++;
+            }
+        }
+        drift.increment(corrected);
+        return corrected;
+    }
+
+    public void invalidate(Collection<String> tenantIds) {
+        tenants.invalidateAll(tenantIds);
+    }
+
+    private Counts load(String tenant) {
+        Counts counts = new Counts();
+        for (TodoDayCount day : todoRepository.countByDay(tenant)) {
+            counts.add(new TodoStatsBucket(day.isCompleted(), day.getCreatedAt()), day.getCount());
+        }
+        return counts;
+    }
+
+    private static final class Counts {
+        private long open;
+        private long completed;
+        private final NavigableMap<LocalDate, Long> perDay = new TreeMap<>();
+        private List<Change> recorded;
+
+        synchronized void add(TodoStatsBucket bucket, long delta) {
+            if (recorded != null) {
+                recorded.add(new Change(bucket, delta));
+            }
+            if (bucket.isCompleted()) {
+                completed += delta;
+            } else {
+                open += delta;
+            }
+            if (bucket.getCreatedAt() != null) {
+                perDay.merge(bucket.getCreatedAt(), delta, (current, change) -> current + change == 0 ? null : current + change);
+            }
+        }
+
+        synchronized TodoStats snapshot(LocalDate createdFrom, LocalDate createdTo) {
+            NavigableMap<LocalDate, Long> days = perDay;
+            if (createdFrom != null) {
+                days = days.tailMap(createdFrom, true);
+            }
+            if (createdTo != null) {
+                days = days.headMap(createdTo, true);
+            }
+            return new TodoStats(open, completed, new TreeMap<>(days));
+        }
+
+        synchronized void startRecording() {
+            recorded = new ArrayList<>();
+        }
+
+        synchronized List<Change> stopRecording() {
+            List<Change> changes = recorded;
+            recorded = null;
+            return changes;
+        }
+
+        synchronized void replay(List<Change> changes) {
+            changes.forEach(change -> add(change.bucket(), change.delta()));
+        }
+
+        synchronized boolean sameAs(Counts other) {
+            synchronized (other) {
+                return open == other.open && completed == other.completed && Objects.equals(perDay, other.perDay);
+            }
+        }
+    }
+
+    private record Change(TodoStatsBucket bucket, long delta) {
+    }
+}
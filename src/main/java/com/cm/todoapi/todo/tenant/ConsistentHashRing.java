@@ -0,0 +1,44 @@
+package com.cm.todoapi.todo.tenant;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Maps keys to nodes so that adding or removing a node only moves the keys of that node.
+ * <p>
+ * Each node is placed on the ring {@code virtualNodes} times to even out how many keys each node
+ * gets. A key belongs to the first node at or after its own position, wrapping around.
+ */
+public class ConsistentHashRing {
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A hash ring needs at least one node and one virtual node per node");
+        }
+        for (String node : nodes) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                ring.put(hash(node + "#" + replica), node);
+            }
+        }
+    }
+
+    public String locate(String key) {
+        Map.Entry<Long, String> owner = ring.ceilingEntry(hash(key));
+        return owner == null ? ring.firstEntry().getValue() : owner.getValue();
+    }
+
+    private static long hash(String value) {
+        byte[] digest = DigestUtils.md5Digest(value.getBytes(StandardCharsets.UTF_8));
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xff);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,58 @@
+package com.cm.todoapi.todo.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * The tenant the current thread works for.
+ * <p>
+ * {@link TenantFilter} binds it for the length of a request, the task decorator in
+ * {@link com.cm.todoapi.todo.config.TenancyConfig} carries it over to the application task
+ * executor. Threads without a tenant, such as tests and background jobs, act for
+ * {@value #DEFAULT_TENANT}.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant == null ? DEFAULT_TENANT : tenant;
+    }
+
+    public static String key(Object id) {
+        return current() + ":" + id;
+    }
+
+    public static Scope open(String tenant) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public static <T> T callAs(String tenant, Supplier<T> action) {
+        try (Scope ignored = open(tenant)) {
+            return action.get();
+        }
+    }
+
+    public static void runAs(String tenant, Runnable action) {
+        try (Scope ignored = open(tenant)) {
+            action.run();
+        }
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,47 @@
+package com.cm.todoapi.todo.tenant;
+
+import com.cm.todoapi.todo.response.TodoError;
+import com.cm.todoapi.todo.response.TodoResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Binds the tenant named in the {@code todo.tenancy.header} header to the request thread. Requests
+ * without the header act for {@value TenantContext#DEFAULT_TENANT}, malformed ids get 400.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]{0,63}");
+
+    private final String header;
+    private final ObjectMapper objectMapper;
+
+    public TenantFilter(String header, ObjectMapper objectMapper) {
+        this.header = header;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String tenant = request.getHeader(header);
+        if (tenant == null || tenant.isBlank()) {
+            tenant = TenantContext.DEFAULT_TENANT;
+        } else if (!TENANT_ID.matcher(tenant).matches()) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new TodoResponse<Void>(null, TodoError.of("Provide a valid " + header + " header")));
+            return;
+        }
+        try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
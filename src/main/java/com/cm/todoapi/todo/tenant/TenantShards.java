@@ -0,0 +1,41 @@
+package com.cm.todoapi.todo.tenant;
+
+import com.cm.todoapi.todo.config.TenantShardRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Runs maintenance jobs once per database. That is once in the default single database setup and
+ * once per shard, pinned to it, when {@code todo.tenancy.sharding.enabled} is set.
+ */
+@Component
+public class TenantShards {
+    ObjectProvider<TenantShardRoutingDataSource> routingDataSource;
+
+    @Autowired
+    public TenantShards(ObjectProvider<TenantShardRoutingDataSource> routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    public int sum(IntSupplier job) {
+        TenantShardRoutingDataSource shards = routingDataSource.getIfAvailable();
+        if (shards == null) {
+            return job.getAsInt();
+        }
+        int total = 0;
+        for (String shard : shards.shardNames()) {
+            total += shards.callOnShard(shard, job::getAsInt);
+        }
+        return total;
+    }
+
+    public void forEach(Runnable job) {
+        sum(() -> {
+            job.run();
+            return 0;
+        });
+    }
+}
@@ -0,0 +1,83 @@
+ALTER TABLE todo RENAME TO todo_unpartitioned;
+ALTER TABLE todo_unpartitioned RENAME CONSTRAINT pk_todo TO pk_todo_unpartitioned;
+ALTER SEQUENCE todo_seq OWNED BY NONE;
+
+DROP INDEX idx_todo_live_id;
+DROP INDEX idx_todo_live_completed_id;
+DROP INDEX idx_todo_live_created_at_id;
+DROP INDEX idx_todo_live_search_vector;
+DROP INDEX idx_todo_deleted_at;
+DROP INDEX idx_todo_completed_created_at;
+
+CREATE TABLE todo
+(
+    id            INTEGER DEFAULT nextval('todo_seq') NOT NULL,
+    title         VARCHAR(255),
+    description   VARCHAR(255),
+    completed     BOOLEAN,
+    created_at    DATE                                NOT NULL,
+    version       BIGINT  DEFAULT 0                   NOT NULL,
+    deleted_at    TIMESTAMP,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED,
+    CONSTRAINT pk_todo PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE todo_seq OWNED BY todo.id;
+
+CREATE TABLE todo_default PARTITION OF todo DEFAULT;
+
+CREATE FUNCTION create_todo_partitions(first_month DATE, last_month DATE) RETURNS INTEGER AS
+$$
+DECLARE
+    month_start DATE := date_trunc('month', first_month)::DATE;
+    month_end   DATE;
+    partition   TEXT;
+    created     INTEGER := 0;
+BEGIN
+    WHILE month_start <= last_month
+        LOOP
+            month_end := (month_start + INTERVAL '1 month')::DATE;
+            partition := 'todo_' || to_char(month_start, 'YYYY_MM');
+            IF to_regclass(partition) IS NULL THEN
+                IF EXISTS(SELECT 1 FROM todo_default WHERE created_at >= month_start AND created_at < month_end) THEN
+                    CREATE TEMPORARY TABLE todo_moving ON COMMIT DROP AS
+                    SELECT id, title, description, completed, created_at, version, deleted_at
+                    FROM todo_default
+                    WHERE created_at >= month_start AND created_at < month_end;
+                    DELETE FROM todo_default WHERE created_at >= month_start AND created_at < month_end;
+                END IF;
+                EXECUTE format('CREATE TABLE %I PARTITION OF todo FOR VALUES FROM (%L) TO (%L)', partition, month_start, month_end);
+                IF to_regclass('pg_temp.todo_moving') IS NOT NULL THEN
+                    INSERT INTO todo (id, title, description, completed, created_at, version, deleted_at)
+                    SELECT id, title, description, completed, created_at, version, deleted_at FROM todo_moving;
+                    DROP TABLE todo_moving;
+                END IF;
+                created := created + 1;
+            END IF;
+            month_start := month_end;
+        END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_todo_partitions(
+               GREATEST(COALESCE((SELECT MIN(created_at) FROM todo_unpartitioned), CURRENT_DATE), (CURRENT_DATE - INTERVAL '5 years')::DATE),
+               (CURRENT_DATE + INTERVAL '3 months')::DATE);
+
+INSERT INTO todo (id, title, description, completed, created_at, version, deleted_at)
+SELECT id, title, description, completed, COALESCE(created_at, CURRENT_DATE), version, deleted_at
+FROM todo_unpartitioned;
+
+DROP TABLE todo_unpartitioned;
+
+CREATE INDEX idx_todo_live_id ON todo (id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_live_completed_id ON todo (completed, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_live_created_at_id ON todo (created_at, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_live_search_vector ON todo USING GIN (search_vector) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_deleted_at ON todo (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX idx_todo_completed_created_at ON todo (created_at) WHERE completed AND deleted_at IS NULL;
+
+ANALYZE todo;
@@ -0,0 +1,15 @@
+CREATE TABLE todo_idempotency_key
+(
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint     VARCHAR(32)  NOT NULL,
+    todo_id         INTEGER,
+    title           VARCHAR(255),
+    description     VARCHAR(255),
+    completed       BOOLEAN      NOT NULL,
+    created_at      DATE,
+    version         BIGINT,
+    recorded_at     TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_todo_idempotency_key PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idx_todo_idempotency_key_recorded_at ON todo_idempotency_key (recorded_at);
@@ -0,0 +1,50 @@
+ALTER TABLE todo ADD COLUMN owner_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE todo_archive ADD COLUMN owner_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+
+ALTER TABLE todo_idempotency_key ALTER COLUMN idempotency_key TYPE VARCHAR(320);
+UPDATE todo_idempotency_key SET idempotency_key = 'default:' || idempotency_key;
+
+DROP INDEX idx_todo_live_id;
+DROP INDEX idx_todo_live_completed_id;
+DROP INDEX idx_todo_live_created_at_id;
+
+CREATE INDEX idx_todo_live_owner_id ON todo (owner_id, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_live_owner_completed_id ON todo (owner_id, completed, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_live_owner_created_at_id ON todo (owner_id, created_at, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_live_owner_completed_created_at ON todo (owner_id, completed, created_at) WHERE deleted_at IS NULL;
+
+CREATE OR REPLACE FUNCTION create_todo_partitions(first_month DATE, last_month DATE) RETURNS INTEGER AS
+$$
+DECLARE
+    month_start DATE := date_trunc('month', first_month)::DATE;
+    month_end   DATE;
+    partition   TEXT;
+    created     INTEGER := 0;
+BEGIN
+    WHILE month_start <= last_month
+        LOOP
+            month_end := (month_start + INTERVAL '1 month')::DATE;
+            partition := 'todo_' || to_char(month_start, 'YYYY_MM');
+            IF to_regclass(partition) IS NULL THEN
+                IF EXISTS(SELECT 1 FROM todo_default WHERE created_at >= month_start AND created_at < month_end) THEN
+                    CREATE TEMPORARY TABLE todo_moving ON COMMIT DROP AS
+                    SELECT id, owner_id, title, description, completed, created_at, version, deleted_at
+                    FROM todo_default
+                    WHERE created_at >= month_start AND created_at < month_end;
+                    DELETE FROM todo_default WHERE created_at >= month_start AND created_at < month_end;
+                END IF;
+                EXECUTE format('CREATE TABLE %I PARTITION OF todo FOR VALUES FROM (%L) TO (%L)', partition, month_start, month_end);
+                IF to_regclass('pg_temp.todo_moving') IS NOT NULL THEN
+                    INSERT INTO todo (id, owner_id, title, description, completed, created_at, version, deleted_at)
+                    SELECT id, owner_id, title, description, completed, created_at, version, deleted_at FROM todo_moving;
+                    DROP TABLE todo_moving;
+                END IF;
+                created := created + 1;
+            END IF;
+            month_start := month_end;
+        END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+ANALYZE todo;
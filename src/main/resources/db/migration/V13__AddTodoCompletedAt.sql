@@ -0,0 +1,42 @@
+ALTER TABLE todo ADD COLUMN completed_at TIMESTAMP;
+ALTER TABLE todo_archive ADD COLUMN completed_at TIMESTAMP;
+
+-- Rows completed before this migration keep a NULL completed_at; the archive job ages them from created_at.
+DROP INDEX idx_todo_completed_created_at;
+CREATE INDEX idx_todo_completed_at ON todo ((COALESCE(completed_at, created_at))) WHERE completed AND deleted_at IS NULL;
+
+CREATE OR REPLACE FUNCTION create_todo_partitions(first_month DATE, last_month DATE) RETURNS INTEGER AS
+$$
+DECLARE
+    month_start DATE := date_trunc('month', first_month)::DATE;
+    month_end   DATE;
+    partition   TEXT;
+    created     INTEGER := 0;
+BEGIN
+    WHILE month_start <= last_month
+        LOOP
+            month_end := (month_start + INTERVAL '1 month')::DATE;
+            partition := 'todo_' || to_char(month_start, 'YYYY_MM');
+            IF to_regclass(partition) IS NULL THEN
+                IF EXISTS(SELECT 1 FROM todo_default WHERE created_at >= month_start AND created_at < month_end) THEN
+                    CREATE TEMPORARY TABLE todo_moving ON COMMIT DROP AS
+                    SELECT id, owner_id, title, description, completed, created_at, completed_at, version, deleted_at
+                    FROM todo_default
+                    WHERE created_at >= month_start AND created_at < month_end;
+                    DELETE FROM todo_default WHERE created_at >= month_start AND created_at < month_end;
+                END IF;
+                EXECUTE format('CREATE TABLE %I PARTITION OF todo FOR VALUES FROM (%L) TO (%L)', partition, month_start, month_end);
+                IF to_regclass('pg_temp.todo_moving') IS NOT NULL THEN
+                    INSERT INTO todo (id, owner_id, title, description, completed, created_at, completed_at, version, deleted_at)
+                    SELECT id, owner_id, title, description, completed, created_at, completed_at, version, deleted_at FROM todo_moving;
+                    DROP TABLE todo_moving;
+                END IF;
+                created := created + 1;
+            END IF;
+            month_start := month_end;
+        END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+ANALYZE todo;
@@ -0,0 +1 @@
+ALTER TABLE todo_outbox ALTER COLUMN payload TYPE TEXT;
@@ -0,0 +1,2 @@
+CREATE INDEX idx_todo_completed_id ON todo (completed, id);
+CREATE INDEX idx_todo_created_at_id ON todo (created_at, id);
@@ -0,0 +1,6 @@
+CREATE SEQUENCE todo_seq INCREMENT BY 50;
+SELECT setval('todo_seq', COALESCE((SELECT MAX(id) FROM todo), 0) + 50, false);
+
+ALTER TABLE todo ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE todo ALTER COLUMN id SET DEFAULT nextval('todo_seq');
+ALTER SEQUENCE todo_seq OWNED BY todo.id;
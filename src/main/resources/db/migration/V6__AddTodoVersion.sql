@@ -0,0 +1 @@
+ALTER TABLE todo ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
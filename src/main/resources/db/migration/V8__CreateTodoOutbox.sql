@@ -0,0 +1,13 @@
+CREATE SEQUENCE todo_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE todo_outbox
+(
+    id         BIGINT DEFAULT nextval('todo_outbox_seq') NOT NULL,
+    event_type VARCHAR(16)                               NOT NULL,
+    todo_id    INTEGER                                   NOT NULL,
+    payload    VARCHAR(2048)                             NOT NULL,
+    created_at TIMESTAMP                                 NOT NULL,
+    CONSTRAINT pk_todo_outbox PRIMARY KEY (id)
+);
+
+ALTER SEQUENCE todo_outbox_seq OWNED BY todo_outbox.id;
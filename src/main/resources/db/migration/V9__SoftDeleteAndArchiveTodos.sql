@@ -0,0 +1,25 @@
+ALTER TABLE todo ADD COLUMN deleted_at TIMESTAMP;
+
+DROP INDEX idx_todo_completed_id;
+DROP INDEX idx_todo_created_at_id;
+DROP INDEX idx_todo_search_vector;
+
+CREATE INDEX idx_todo_live_id ON todo (id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_live_completed_id ON todo (completed, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_live_created_at_id ON todo (created_at, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_live_search_vector ON todo USING GIN (search_vector) WHERE deleted_at IS NULL;
+CREATE INDEX idx_todo_deleted_at ON todo (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX idx_todo_completed_created_at ON todo (created_at) WHERE completed AND deleted_at IS NULL;
+
+CREATE TABLE todo_archive
+(
+    id          INTEGER      NOT NULL,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    completed   BOOLEAN      NOT NULL,
+    created_at  DATE,
+    version     BIGINT,
+    deleted_at  TIMESTAMP,
+    archived_at TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_todo_archive PRIMARY KEY (id)
+);
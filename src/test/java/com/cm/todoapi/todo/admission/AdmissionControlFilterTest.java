@@ -0,0 +1,162 @@
+package com.cm.todoapi.todo.admission;
+
+import com.cm.todoapi.todo.config.TodoAdmissionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlFilterTest {
+
+    AtomicLong clock = new AtomicLong();
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    AdmissionControlFilter filter = new AdmissionControlFilter(properties(), new ObjectMapper(), meterRegistry, clock::get);
+
+    @Test
+    void shouldRejectAClientThatExceedsItsBurstWithRetryAfter() throws Exception {
+        assertEquals(200, perform("10.0.0.1").getStatus());
+        assertEquals(200, perform("10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = perform("10.0.0.1");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Too many requests"));
+        assertEquals(1, meterRegistry.get("todo.admission.rejected").tag("reason", "rate_limited").counter().count());
+    }
+
+    @Test
+    void shouldRefillTheBucketOverTime() throws Exception {
+        perform("10.0.0.1");
+        perform("10.0.0.1");
+        assertEquals(429, perform("10.0.0.1").getStatus());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertEquals(200, perform("10.0.0.1").getStatus());
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerClient() throws Exception {
+        perform("10.0.0.1");
+        perform("10.0.0.1");
+
+        assertEquals(200, perform("10.0.0.2").getStatus());
+        assertEquals(2.0, meterRegistry.get("todo.admission.clients").gauge().value());
+    }
+
+    @Test
+    void shouldNotGrantANewBucketForANewClientIdHeader() throws Exception {
+        perform("10.0.0.1");
+        perform("10.0.0.1");
+
+        MockHttpServletRequest rotated = request("10.0.0.1");
+        rotated.addHeader("X-Client-Id", "fresh-id");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(rotated, response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void shouldBoundTheNumberOfTrackedClients() throws Exception {
+        TodoAdmissionProperties properties = properties();
+        properties.setMaxClients(2);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(properties, new ObjectMapper(), meterRegistry, clock::get);
+
+        for (int client = 1; client <= 10; client++) {
+            perform("10.0.1." + client);
+        }
+
+        assertTrue(meterRegistry.get("todo.admission.clients").gauge().value() <= 2.0);
+    }
+
+    @Test
+    void shouldEvictIdleClients() throws Exception {
+        perform("10.0.0.1");
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        perform("10.0.0.2");
+
+        assertEquals(1.0, meterRegistry.get("todo.admission.clients").gauge().value());
+    }
+
+    @Test
+    void shouldShedRequestsOverTheConcurrencyLimit() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain holdsTheOnlySlot = (request, response) -> {
+            assertEquals(1.0, meterRegistry.get("todo.admission.requests.active").gauge().value());
+            nested[0] = perform("10.0.0.2");
+        };
+
+        filter.doFilter(request("10.0.0.1"), new MockHttpServletResponse(), holdsTheOnlySlot);
+
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader("Retry-After"));
+        assertEquals(0.0, meterRegistry.get("todo.admission.requests.active").gauge().value());
+    }
+
+    @Test
+    void shouldHoldTheSlotUntilAnAsyncExportCompletes() throws Exception {
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/todo/export");
+        export.setRemoteAddr("10.0.0.1");
+        export.setAsyncSupported(true);
+        FilterChain startsStreaming = (request, response) -> request.startAsync();
+
+        filter.doFilter(export, new MockHttpServletResponse(), startsStreaming);
+
+        assertEquals(1.0, meterRegistry.get("todo.admission.requests.active").gauge().value());
+        assertEquals(503, perform("10.0.0.2").getStatus());
+
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+
+        assertEquals(0.0, meterRegistry.get("todo.admission.requests.active").gauge().value());
+        assertEquals(200, perform("10.0.0.2").getStatus());
+    }
+
+    @Test
+    void shouldNotLimitTheChangeFeed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/todo/changes");
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    MockHttpServletResponse perform(String client) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(client), response, new MockFilterChain());
+        return response;
+    }
+
+    MockHttpServletRequest request(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/todo");
+        request.setRemoteAddr(client);
+        return request;
+    }
+
+    static TodoAdmissionProperties properties() {
+        TodoAdmissionProperties properties = new TodoAdmissionProperties();
+        properties.setRequestsPerSecond(2);
+        properties.setBurst(2);
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        properties.setMaxConcurrentRequests(1);
+        return properties;
+    }
+}
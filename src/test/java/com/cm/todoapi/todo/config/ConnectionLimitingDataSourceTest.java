@@ -0,0 +1,43 @@
+package com.cm.todoapi.todo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConnectionLimitingDataSourceTest {
+
+    ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:limit;DB_CLOSE_DELAY=-1", "sa", ""), 2, Duration.ofMillis(50));
+
+    @Test
+    void shouldReleaseThePermitWhenTheConnectionIsClosed() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals(1, dataSource.availablePermits());
+        }
+
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    void shouldReleaseThePermitOnlyOnceWhenClosedTwice() throws Exception {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    void shouldTimeOutWhenAllPermitsAreTaken() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+    }
+}
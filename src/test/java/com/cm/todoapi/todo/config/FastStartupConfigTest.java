@@ -0,0 +1,32 @@
+package com.cm.todoapi.todo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles({"test", "fast-startup"})
+@DirtiesContext
+class FastStartupConfigTest {
+
+    @Autowired
+    ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void shouldInitializeRequestPathBeansLazily() {
+        assertTrue(beanFactory.getBeanDefinition("todoService").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("todoController").isLazyInit());
+    }
+
+    @Test
+    void shouldKeepScheduledBeansEager() {
+        assertFalse(beanFactory.getBeanDefinition("todoStatsService").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("todoArchiveService").isLazyInit());
+    }
+}
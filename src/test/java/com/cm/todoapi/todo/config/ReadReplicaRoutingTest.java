@@ -0,0 +1,79 @@
+package com.cm.todoapi.todo.config;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoFilter;
+import com.cm.todoapi.todo.model.TodoView;
+import com.cm.todoapi.todo.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "todo.replica.enabled=true",
+        "todo.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "todo.replica.username=sa",
+        "todo.replica.password=",
+        "todo.replica.lag-query=SELECT 0"})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReadReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    TodoReplicaProperties replicaProperties;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("CREATE TABLE IF NOT EXISTS todo (id INTEGER PRIMARY KEY, title VARCHAR(255), description VARCHAR(255), "
+                + "completed BOOLEAN NOT NULL, created_at DATE, version BIGINT, deleted_at TIMESTAMP, owner_id VARCHAR(64) NOT NULL, completed_at TIMESTAMP)");
+        replica.update("DELETE FROM todo");
+        replica.update("INSERT INTO todo VALUES (100, 'Replica copy', 'Only on the replica', FALSE, DATE '2020-01-01', 0, NULL, 'default', NULL)");
+        replicaLagMonitor.check();
+    }
+
+    @Test
+    void shouldServeReadOnlyListReadsFromTheReplica() {
+        todoService.createNewTodo(new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")));
+
+        assertEquals(List.of("Replica copy"), todoService.getTodoPage(new TodoFilter(), null, 10).getTodos().stream().map(TodoView::title).toList());
+        assertEquals(List.of("Replica copy"), titles(todoService.getAllTodos()));
+    }
+
+    @Test
+    void shouldKeepWritesAndLookupsOnThePrimary() {
+        Todo created = todoService.createNewTodo(new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")));
+
+        assertEquals("Clean Room", todoService.getTodoById(created.getId()).getTitle());
+    }
+
+    @Test
+    void shouldFallBackToThePrimaryWhenTheReplicaLags() {
+        todoService.createNewTodo(new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")));
+        replicaProperties.setLagQuery("SELECT 60");
+
+        replicaLagMonitor.check();
+
+        assertEquals(List.of("Clean Room"), todoService.getTodoPage(new TodoFilter(), null, 10).getTodos().stream().map(TodoView::title).toList());
+    }
+
+    List<String> titles(List<Todo> todos) {
+        return todos.stream().map(Todo::getTitle).toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.cm.todoapi.todo.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaLagMonitorTest {
+    AtomicLong nanoTime = new AtomicLong();
+    TodoReplicaProperties properties = new TodoReplicaProperties();
+    ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        properties.setLagQuery("SELECT 0");
+        monitor = new ReplicaLagMonitor(new DriverManagerDataSource("jdbc:h2:mem:lag;DB_CLOSE_DELAY=-1", "sa", ""),
+                properties, nanoTime::get);
+    }
+
+    @Test
+    void shouldUseTheReplicaWhileTheLastCheckIsFresh() {
+        monitor.check();
+        nanoTime.addAndGet(properties.getLagCheckInterval().toNanos());
+
+        assertTrue(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void shouldFallBackToThePrimaryOnceTheLastCheckIsStale() {
+        monitor.check();
+        nanoTime.addAndGet(properties.getLagCheckInterval().multipliedBy(ReplicaLagMonitor.STALE_AFTER_INTERVALS).plus(Duration.ofMillis(1)).toNanos());
+
+        assertFalse(monitor.isReplicaUsable());
+        assertNull(monitor.getLag());
+
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void shouldNotUseTheReplicaBeforeTheFirstCheck() {
+        assertFalse(monitor.isReplicaUsable());
+    }
+}
@@ -0,0 +1,70 @@
+package com.cm.todoapi.todo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VirtualThreadConfigTest {
+
+    TenantShardRoutingDataSource routingDataSource = new TenantShardRoutingDataSource(shards(), 16);
+
+    BeanPostProcessor postProcessor = VirtualThreadConfig.connectionLimitingDataSourcePostProcessor(beanFactory().getBeanProvider(TodoExecutionProperties.class));
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.close();
+    }
+
+    @Test
+    void shouldGiveEveryRoutingTargetThePermitsOfItsOwnPool() {
+        routingDataSource.afterPropertiesSet();
+
+        assertSame(routingDataSource, postProcessor.postProcessAfterInitialization(routingDataSource, "dataSource"));
+        postProcessor.postProcessAfterInitialization(routingDataSource, "tenantShardRoutingDataSource");
+
+        Map<Object, ConnectionLimitingDataSource> limited = new LinkedHashMap<>();
+        routingDataSource.getResolvedDataSources().forEach((shard, target) -> limited.put(shard, (ConnectionLimitingDataSource) target));
+        assertEquals(2, limited.get("small").availablePermits());
+        assertEquals(5, limited.get("large").availablePermits());
+    }
+
+    @Test
+    void shouldFallBackToTheConfiguredPermitsForAPoolWithoutASize() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:unsized;DB_CLOSE_DELAY=-1");
+
+        try (pool) {
+            ConnectionLimitingDataSource limited = (ConnectionLimitingDataSource) postProcessor.postProcessAfterInitialization(pool, "dataSource");
+
+            assertEquals(new TodoExecutionProperties().getJdbcPermits(), limited.availablePermits());
+        }
+    }
+
+    private static DefaultListableBeanFactory beanFactory() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("todoExecutionProperties", new TodoExecutionProperties());
+        return beanFactory;
+    }
+
+    private static Map<String, HikariDataSource> shards() {
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+        shards.put("small", pool("small", 2));
+        shards.put("large", pool("large", 5));
+        return shards;
+    }
+
+    private static HikariDataSource pool(String name, int size) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(size);
+        return dataSource;
+    }
+}
@@ -1,15 +1,32 @@
 package com.cm.todoapi.todo.controller;
 
 import com.cm.todoapi.todo.exceptions.TodoNotFoundException;
+import com.cm.todoapi.todo.exceptions.InvalidCursorException;
+import com.cm.todoapi.todo.exceptions.TodoVersionConflictException;
 import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoCollectionState;
+import com.cm.todoapi.todo.model.TodoFilter;
+import com.cm.todoapi.todo.model.TodoPage;
+import com.cm.todoapi.todo.model.TodoPatch;
+import com.cm.todoapi.todo.model.TodoStats;
+import com.cm.todoapi.todo.model.TodoView;
+import com.cm.todoapi.todo.response.TodoError;
 import com.cm.todoapi.todo.response.TodoResponse;
+import com.cm.todoapi.todo.service.TodoExportService;
+import com.cm.todoapi.todo.service.TodoIdempotencyService;
 import com.cm.todoapi.todo.service.TodoService;
+import com.cm.todoapi.todo.service.TodoStatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,12 +35,17 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TodoController.class)
+@Import(SimpleMeterRegistry.class)
 class TodoControllerTest {
 
     @Autowired
@@ -32,9 +54,27 @@ class TodoControllerTest {
     @MockBean
     TodoService todoService;
 
+    @MockBean
+    TodoExportService todoExportService;
+
+    @MockBean
+    TodoIdempotencyService todoIdempotencyService;
+
+    @MockBean
+    TodoStatsService todoStatsService;
+
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(todoService.getCollectionState()).thenReturn(new TodoCollectionState(2L, 2, 0L));
+        when(todoService.getTodoPage(new TodoFilter(), null, null)).thenReturn(new TodoPage<>(List.of(), null));
+    }
+
     final String TODO_RESPONSE_ALL_TODOS = """
             {
                 "success": [
@@ -138,11 +178,11 @@ class TodoControllerTest {
 
     @Test
     void shouldGetAllTodos() throws Exception {
-        List<Todo> todoList = List.of(
-                new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")),
-                new Todo(2, "Watch Movie", "Watch Thor L&T", false, LocalDate.parse("2020-01-01"))
+        List<TodoView> todoList = List.of(
+                new TodoView(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")),
+                new TodoView(2, "Watch Movie", "Watch Thor L&T", false, LocalDate.parse("2020-01-01"))
         );
-        when(todoService.getAllTodos()).thenReturn(todoList);
+        when(todoService.getTodoPage(new TodoFilter(), null, null)).thenReturn(new TodoPage<>(todoList, null));
         String expectedResponse = getResponseStringFromJSONString(TODO_RESPONSE_ALL_TODOS);
 
         MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo")
@@ -152,6 +192,56 @@ class TodoControllerTest {
 
         String actualResponse = getResponseStringFromMvcResult(result);
         assertEquals(expectedResponse, actualResponse);
+        assertNull(result.getResponse().getHeader("X-Next-Cursor"));
+    }
+
+    @Test
+    void shouldPassFiltersAndCursorAndReturnNextCursor() throws Exception {
+        List<TodoView> todoList = List.of(
+                new TodoView(3, "Clean Room", "Arrange the cupboard and sweep the floor", true, LocalDate.parse("2020-01-05"))
+        );
+        TodoFilter filter = new TodoFilter(true, LocalDate.parse("2020-01-01"), LocalDate.parse("2020-01-31"));
+        when(todoService.getTodoPage(filter, "aWQ6Mg", 1)).thenReturn(new TodoPage<>(todoList, "aWQ6Mw"));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo")
+                        .param("completed", "true")
+                        .param("createdFrom", "2020-01-01")
+                        .param("createdTo", "2020-01-31")
+                        .param("cursor", "aWQ6Mg")
+                        .param("size", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("aWQ6Mw", result.getResponse().getHeader("X-Next-Cursor"));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+        when(todoService.getTodoPage(new TodoFilter(), "garbage", null)).thenThrow(new InvalidCursorException("garbage"));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo")
+                        .param("cursor", "garbage")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        assertEquals(TodoError.of("Cursor garbage is not valid"), objectMapper.readValue(result.getResponse().getContentAsString(), TodoResponse.class).getError());
+    }
+
+    @Test
+    void shouldGetATodoById() throws Exception {
+        Todo todo = new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"));
+        when(todoService.getTodoById(1)).thenReturn(todo);
+        String expectedResponse = getResponseStringFromJSONString(TODO_RESPONSE_WITH_ALL_FIELDS);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String actualResponse = getResponseStringFromMvcResult(result);
+        assertEquals(expectedResponse, actualResponse);
     }
 
     @Test
@@ -171,6 +261,26 @@ class TodoControllerTest {
         assertEquals(expectedResponse, actualResponse);
     }
 
+    @Test
+    void shouldReplayATodoCreatedWithTheSameIdempotencyKey() throws Exception {
+        Todo passedTodo = new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"));
+        Todo returnedTodo = new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"), 0L);
+        when(todoIdempotencyService.createNewTodo("key-1", passedTodo)).thenReturn(new TodoIdempotencyService.IdempotentTodo(returnedTodo, true));
+        String expectedResponse = getResponseStringFromJSONString(TODO_RESPONSE_WITH_ALL_FIELDS);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/api/todo")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TODO_REQUEST_WITH_ALL_FIELDS))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn();
+
+        assertEquals(expectedResponse, getResponseStringFromMvcResult(result));
+        verify(todoService, never()).createNewTodo(any());
+    }
+
     @Test
     void shouldNotCreateNewTodoWhenRequiredFieldsAreNotGiven() throws Exception {
         String expectedResponse = getResponseStringFromJSONString(TODO_RESPONSE_FOR_MISSING_FIELDS);
@@ -188,7 +298,7 @@ class TodoControllerTest {
     @Test
     void shouldDeleteATodo() throws Exception {
         String expectedResponse = getResponseStringFromJSONString(TODO_DELETE_SUCCESS_RESPONSE);
-        doNothing().when(todoService).deleteTodoById(1);
+        doNothing().when(todoService).deleteTodoById(1, null);
 
         MvcResult result = mockMvc.perform(MockMvcRequestBuilders.delete("/api/todo/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -202,7 +312,7 @@ class TodoControllerTest {
     @Test
     void shouldThrowErrorWhenTodoThatDoesNotExistIsDeleted() throws Exception {
         String expectedResponse = getResponseStringFromJSONString(TODO_DELETE_FAILURE_RESPONSE);
-        doThrow(new TodoNotFoundException("Todo with id 1 is not found")).when(todoService).deleteTodoById(1);
+        doThrow(new TodoNotFoundException("Todo with id 1 is not found")).when(todoService).deleteTodoById(1, null);
 
         MvcResult result = mockMvc.perform(MockMvcRequestBuilders.delete("/api/todo/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -217,7 +327,7 @@ class TodoControllerTest {
     void shouldUpdateATodoBasedOnId() throws Exception {
         String expectedResponse = getResponseStringFromJSONString(TODO_UPDATE_SUCCESS_RESPONSE);
         Todo todo = new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"));
-        when(todoService.updateTodoById(1,todo)).thenReturn(todo);
+        when(todoService.updateTodoById(1,todo,null)).thenReturn(todo);
 
         MvcResult result = mockMvc.perform(MockMvcRequestBuilders.put("/api/todo/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -234,7 +344,8 @@ class TodoControllerTest {
     void shouldThrowExceptionWhenTodoThatDoesNotExistIsUpdated() throws Exception {
         Todo passedTodo = new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"));
         String expectedResponse = getResponseStringFromJSONString(TODO_UPDATE_FAILURE_RESPONSE);
-        when(todoService.updateTodoById(10,passedTodo)).thenThrow(new TodoNotFoundException(10));
+        when(todoService.updateTodoById(10,passedTodo,null)).thenThrow(new TodoNotFoundException(10));
+        double notFoundCountBefore = meterRegistry.get("todo.not.found").counter().count();
 
         MvcResult result = mockMvc.perform(MockMvcRequestBuilders.put("/api/todo/10")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -245,6 +356,107 @@ class TodoControllerTest {
 
         String actualResponse = getResponseStringFromMvcResult(result);
         assertEquals(expectedResponse,actualResponse);
+        assertEquals(notFoundCountBefore + 1, meterRegistry.get("todo.not.found").counter().count());
+    }
+
+    @Test
+    void shouldPatchATodoBasedOnId() throws Exception {
+        String expectedResponse = getResponseStringFromJSONString(TODO_UPDATE_SUCCESS_RESPONSE);
+        Todo todo = new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"));
+        when(todoService.patchTodoById(1, new TodoPatch(null, null, false, null), null)).thenReturn(todo);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.patch("/api/todo/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"completed\": false}")
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String actualResponse = getResponseStringFromMvcResult(result);
+        assertEquals(expectedResponse, actualResponse);
+    }
+
+    @Test
+    void shouldSearchTodosAndReturnTheNextCursor() throws Exception {
+        List<Todo> todoList = List.of(new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")));
+        when(todoService.searchTodos("clean", null, 1)).thenReturn(new TodoPage<>(todoList, "next"));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/search")
+                        .param("q", "clean")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TodoController.NEXT_CURSOR_HEADER, "next"))
+                .andReturn();
+
+        String actualResponse = getResponseStringFromMvcResult(result);
+        assertEquals(getResponseStringFromJSONString(objectMapper.writeValueAsString(new TodoResponse(todoList, null))), actualResponse);
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenTodoVersionMatches() throws Exception {
+        Todo todo = new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"), 3L);
+        when(todoService.getTodoById(1)).thenReturn(todo);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andReturn();
+
+        assertEquals("", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void shouldNotLoadThePageWhenCollectionIsUnchanged() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(todoService);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        verify(todoService).getCollectionState();
+        verify(todoService, never()).getTodoPage(any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnPreconditionFailedWhenVersionDoesNotMatch() throws Exception {
+        when(todoService.updateTodoById(1, new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")), 2L))
+                .thenThrow(new TodoVersionConflictException(1));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/todo/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TODO_UPDATE_BODY))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void shouldReturnNewETagAfterUpdate() throws Exception {
+        Todo todo = new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"), 4L);
+        when(todoService.updateTodoById(1, todo, 3L)).thenReturn(todo);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/todo/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TODO_UPDATE_BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void shouldReturnTheStatsForTheRequestedDays() throws Exception {
+        LocalDate day = LocalDate.parse("2020-01-02");
+        when(todoStatsService.getStats(day, day)).thenReturn(new TodoStats(3, 1, Map.of(day, 2L)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/stats")
+                        .param("createdFrom", "2020-01-02")
+                        .param("createdTo", "2020-01-02"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {"success": {"open": 3, "completed": 1, "createdPerDay": {"2020-01-02": 2}}}
+                        """));
     }
 
     String getResponseStringFromMvcResult(MvcResult result) throws Exception {
@@ -0,0 +1,168 @@
+package com.cm.todoapi.todo.integration;
+
+import com.cm.todoapi.todo.config.TodoCacheConfig;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import com.cm.todoapi.todo.response.TodoResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TodoCacheIntegrationTest extends TodoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TodoRepository todoRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldServeRepeatedLookupsFromTheCache() throws Exception {
+        addTodosForTesting();
+
+        getTodo(1);
+        getTodo(1);
+
+        CacheStats stats = stats(TodoCacheConfig.TODO);
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.hitCount());
+    }
+
+    @Test
+    void shouldReturnTheNewStateAfterAnUpdate() throws Exception {
+        addTodosForTesting();
+        getTodo(1);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/todo/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(UPDATE_TODO_BODY));
+        MvcResult result = getTodo(1);
+
+        assertEquals(true, successOf(result).get("completed"));
+        assertEquals(1, stats(TodoCacheConfig.TODO).hitCount());
+    }
+
+    @Test
+    void shouldNotServeADeletedTodoFromTheCache() throws Exception {
+        addTodosForTesting();
+        getTodo(1);
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/todo/1"));
+        MvcResult result = getTodo(1);
+
+        assertEquals(400, result.getResponse().getStatus());
+    }
+
+    @Test
+    void shouldEvictTheFirstPageWhenATodoIsCreated() throws Exception {
+        addTodosForTesting();
+        assertEquals(5, firstPage().size());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/todo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CREATE_TODO_SUCCESS_BODY));
+
+        assertEquals(6, firstPage().size());
+        assertEquals(0, stats(TodoCacheConfig.FIRST_PAGE).hitCount());
+    }
+
+    @Test
+    void shouldNotCacheFilteredOrCursorPages() throws Exception {
+        addTodosForTesting();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").param("completed", "true"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").param("size", "2"));
+
+        assertEquals(Set.of("default:state"), nativeCache(TodoCacheConfig.FIRST_PAGE).asMap().keySet());
+    }
+
+    @Test
+    void shouldServeThePrecompressedFirstPageUntilTheListChanges() throws Exception {
+        addTodosForTesting();
+
+        MvcResult first = gzipFirstPage();
+        MvcResult second = gzipFirstPage();
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/todo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CREATE_TODO_SUCCESS_BODY));
+        MvcResult afterCreate = gzipFirstPage();
+
+        assertEquals("gzip", first.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(5, gunzipTodos(first).size());
+        assertArrayEquals(first.getResponse().getContentAsByteArray(), second.getResponse().getContentAsByteArray());
+        assertEquals(first.getResponse().getHeader(HttpHeaders.ETAG), second.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(6, gunzipTodos(afterCreate).size());
+        assertEquals(1, meterRegistry.get("todo.first.page.precompressed").tag("result", "hit").counter().count());
+        assertEquals(2, meterRegistry.get("todo.first.page.precompressed").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void shouldKeepServingCachedStateForWritesThatBypassTheService() throws Exception {
+        addTodosForTesting();
+        getTodo(1);
+
+        Todo todo = todoRepository.findById(1).orElseThrow();
+        todo.setTitle("Changed behind the cache");
+        todoRepository.save(todo);
+
+        assertEquals("Clean Room", successOf(getTodo(1)).get("title"));
+    }
+
+    MvcResult gzipFirstPage() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")).andReturn();
+    }
+
+    List<?> gunzipTodos(MvcResult result) throws Exception {
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            return (List<?>) getFromJsonString(new String(body.readAllBytes(), StandardCharsets.UTF_8), TodoResponse.class).getSuccess();
+        }
+    }
+
+    MvcResult getTodo(Integer id) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/" + id).contentType(MediaType.APPLICATION_JSON)).andReturn();
+    }
+
+    List<?> firstPage() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").contentType(MediaType.APPLICATION_JSON)).andReturn();
+        return (List<?>) getFromJsonString(result.getResponse().getContentAsString(), TodoResponse.class).getSuccess();
+    }
+
+    Map<?, ?> successOf(MvcResult result) throws Exception {
+        return (Map<?, ?>) getFromJsonString(result.getResponse().getContentAsString(), TodoResponse.class).getSuccess();
+    }
+
+    CacheStats stats(String cacheName) {
+        return nativeCache(cacheName).stats();
+    }
+
+    com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return ((CaffeineCache) cache).getNativeCache();
+    }
+}
@@ -0,0 +1,116 @@
+package com.cm.todoapi.todo.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "todo.changes.replay-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class TodoChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    final String CREATE_TODO_BODY = """
+                {
+                    "title": "Get Pizza",
+                    "description": "Order Pizza from Dominos",
+                    "completed": false,
+                    "createdAt": "2020-01-03"
+                }
+                """;
+
+    @Test
+    void shouldStreamCommittedChanges() throws Exception {
+        MvcResult subscription = subscribe(null);
+
+        createTodo();
+        mockMvc.perform(MockMvcRequestBuilders.patch("/api/todo/1").contentType(MediaType.APPLICATION_JSON).content("{\"completed\": true}"));
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/todo/1"));
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/todo/100"));
+
+        String stream = awaitEvents(subscription, 3);
+        assertEquals(List.of("created", "updated", "deleted"), stream.lines().filter(line -> line.startsWith("event:")).map(line -> line.substring(6)).toList());
+        assertTrue(stream.contains("\"title\":\"Get Pizza\""));
+    }
+
+    @Test
+    void shouldReplayOnlyMissedChangesForAResumeToken() throws Exception {
+        MvcResult first = subscribe(null);
+        createTodo();
+        createTodo();
+        String firstToken = ids(awaitEvents(first, 2)).get(0);
+
+        MvcResult resumed = subscribe(firstToken);
+
+        String stream = awaitEvents(resumed, 1);
+        assertEquals(List.of(ids(first.getResponse().getContentAsString()).get(1)), ids(stream));
+        assertFalse(stream.contains("event:resync"));
+    }
+
+    @Test
+    void shouldKeepEachTenantsReplayBufferToItself() throws Exception {
+        MvcResult first = subscribe(null);
+        createTodo();
+        String firstToken = ids(awaitEvents(first, 1)).get(0);
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/todo").header("X-Tenant-Id", "acme").contentType(MediaType.APPLICATION_JSON).content(CREATE_TODO_BODY));
+        }
+        createTodo();
+
+        MvcResult resumed = subscribe(firstToken);
+
+        String stream = awaitEvents(resumed, 1);
+        assertEquals(List.of(ids(awaitEvents(first, 2)).get(1)), ids(stream));
+        assertFalse(stream.contains("event:resync"));
+    }
+
+    @Test
+    void shouldAskClientsWithAnUnknownTokenToResync() throws Exception {
+        MvcResult subscription = subscribe("unknown:42");
+
+        assertTrue(awaitEvents(subscription, 1).contains("event:resync"));
+    }
+
+    MvcResult subscribe(String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/todo/changes").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request).andReturn();
+    }
+
+    void createTodo() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/todo").contentType(MediaType.APPLICATION_JSON).content(CREATE_TODO_BODY));
+    }
+
+    String awaitEvents(MvcResult subscription, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String stream = subscription.getResponse().getContentAsString();
+        while (stream.lines().filter(line -> line.startsWith("event:")).count() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            stream = subscription.getResponse().getContentAsString();
+        }
+        return stream;
+    }
+
+    List<String> ids(String stream) {
+        return stream.lines().filter(line -> line.startsWith("id:")).map(line -> line.substring(3)).toList();
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -19,9 +20,11 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -137,6 +140,21 @@ class TodoIntegrationTest {
         assertEquals(expectedResponse,actualResponse);
     }
 
+    @Test
+    void shouldSuccessfullyPatchATodo() throws Exception{
+        TodoResponse expectedResponse = getFromJsonFile("UpdateTodoSuccessResponse.json", TodoResponse.class);
+        addTodosForTesting();
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.patch("/api/todo/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"completed\": true}")
+        ).andReturn();
+
+        assertEquals(200,result.getResponse().getStatus());
+        TodoResponse actualResponse = getFromJsonString(result.getResponse().getContentAsString(),TodoResponse.class);
+        assertEquals(expectedResponse,actualResponse);
+    }
+
     @Test
     void shouldSuccessfullyDeleteTodo() throws Exception{
         TodoResponse expectedResponse = getFromJsonFile("DeleteTodoSuccessResponse.json", TodoResponse.class);
@@ -164,6 +182,103 @@ class TodoIntegrationTest {
         assertEquals(expectedResponse,actualResponse);
     }
 
+    @Test
+    void shouldExportAllTodosAsNdjson() throws Exception {
+        addTodosForTesting();
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/export")).andReturn();
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult)).andReturn();
+
+        assertEquals(200,result.getResponse().getStatus());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE,result.getResponse().getContentType());
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertEquals(5,lines.size());
+        assertEquals(getFromJsonFile("Todos.json",Todo[].class)[0].getTitle(),getFromJsonString(lines.get(0),Todo.class).getTitle());
+        assertEquals(5,getFromJsonString(lines.get(4),Todo.class).getId());
+    }
+
+    @Test
+    void shouldCreateUpdateAndDeleteTodosInBatches() throws Exception {
+        MvcResult created = mockMvc.perform(MockMvcRequestBuilders.post("/api/todo/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(Files.readString(Paths.get(BASE_DIR_JSON+"Todos.json")))
+        ).andReturn();
+        MvcResult deleted = mockMvc.perform(MockMvcRequestBuilders.delete("/api/todo/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2, 100]")
+        ).andReturn();
+
+        assertEquals(200,created.getResponse().getStatus());
+        assertEquals(5,((List<?>) getFromJsonString(created.getResponse().getContentAsString(),TodoResponse.class).getSuccess()).size());
+        assertEquals(200,deleted.getResponse().getStatus());
+        List<?> deleteResults = (List<?>) getFromJsonString(deleted.getResponse().getContentAsString(),TodoResponse.class).getSuccess();
+        assertEquals("NOT_FOUND",((Map<?, ?>) deleteResults.get(2)).get("status"));
+        assertEquals(3,todoRepository.count());
+    }
+
+    @Test
+    void shouldRejectAnUpdateWithAStaleETag() throws Exception {
+        addTodosForTesting();
+
+        MvcResult fetched = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/1")).andReturn();
+        String etag = fetched.getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult notModified = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/1").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+        MvcResult updated = mockMvc.perform(MockMvcRequestBuilders.put("/api/todo/1")
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(UPDATE_TODO_BODY)
+        ).andReturn();
+        MvcResult conflict = mockMvc.perform(MockMvcRequestBuilders.put("/api/todo/1")
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(UPDATE_TODO_BODY)
+        ).andReturn();
+
+        assertEquals("\"0\"",etag);
+        assertEquals(304,notModified.getResponse().getStatus());
+        assertEquals(200,updated.getResponse().getStatus());
+        assertEquals("\"1\"",updated.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(412,conflict.getResponse().getStatus());
+    }
+
+    @Test
+    void shouldTagEachRepresentationAndRejectAWeakIfMatch() throws Exception {
+        addTodosForTesting();
+
+        MvcResult json = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/1")).andReturn();
+        MvcResult cbor = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/1").accept(MediaType.APPLICATION_CBOR)).andReturn();
+        MvcResult weak = mockMvc.perform(MockMvcRequestBuilders.put("/api/todo/1")
+                .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(UPDATE_TODO_BODY)
+        ).andReturn();
+        MvcResult strong = mockMvc.perform(MockMvcRequestBuilders.put("/api/todo/1")
+                .header(HttpHeaders.IF_MATCH, cbor.getResponse().getHeader(HttpHeaders.ETAG))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(UPDATE_TODO_BODY)
+        ).andReturn();
+
+        assertEquals("\"0\"",json.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("\"0+cbor\"",cbor.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("Accept, Accept-Encoding",json.getResponse().getHeader(HttpHeaders.VARY));
+        assertEquals(412,weak.getResponse().getStatus());
+        assertEquals(200,strong.getResponse().getStatus());
+        assertEquals("Accept, Accept-Encoding",strong.getResponse().getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void shouldReturnNotModifiedForAnUnchangedList() throws Exception {
+        addTodosForTesting();
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult unchanged = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.patch("/api/todo/2").contentType(MediaType.APPLICATION_JSON).content("{\"completed\": true}"));
+        MvcResult changed = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+
+        assertEquals(304,unchanged.getResponse().getStatus());
+        assertEquals(200,changed.getResponse().getStatus());
+    }
+
     void addTodosForTesting() throws Exception {
         List<Todo> todos = Arrays.asList(getFromJsonFile("Todos.json",Todo[].class));
         todoRepository.saveAll(todos);
@@ -0,0 +1,45 @@
+package com.cm.todoapi.todo.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@AutoConfigureMetrics
+class TodoMetricsIntegrationTest extends TodoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldExposeTodoMetricsInPrometheusFormat() throws Exception {
+        addTodosForTesting();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").param("completed", "true"));
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/todo/100"));
+
+        String metrics = mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(metrics.contains("todo_controller_seconds_bucket"));
+        assertTrue(metrics.contains("todo_service_seconds_bucket{class=\"com.cm.todoapi.todo.service.TodoService\""));
+        assertTrue(metrics.contains("todo_request_queries_count{method=\"GET\",uri=\"/api/todo\",}"));
+        assertTrue(metrics.contains("todo_not_found_total 1.0"));
+        assertTrue(metrics.contains("hikaricp_connections_max"));
+        assertTrue(metrics.contains("hibernate_statements_total"));
+    }
+
+    @Test
+    void shouldCountJdbcTemplateReadsAsRequestQueries() throws Exception {
+        addTodosForTesting();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").param("completed", "false"));
+
+        assertTrue(meterRegistry.get("todo.request.queries").tag("method", "GET").tag("uri", "/api/todo").summary().max() >= 1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.cm.todoapi.todo.integration;
+
+import com.cm.todoapi.todo.response.TodoResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TodoTenantIntegrationTest extends TodoIntegrationTest {
+    static final String TENANT_HEADER = "X-Tenant-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldOnlyListTheCallersTodos() throws Exception {
+        addTodosForTesting();
+        create("acme");
+
+        assertEquals(5, list(null).size());
+        assertEquals(1, list("acme").size());
+        assertEquals(0, list("globex").size());
+    }
+
+    @Test
+    void shouldNotReadUpdateOrDeleteAnotherTenantsTodo() throws Exception {
+        Integer id = (Integer) ((Map<?, ?>) successOf(create("acme"))).get("id");
+
+        MvcResult read = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/" + id).header(TENANT_HEADER, "globex")).andReturn();
+        MvcResult update = mockMvc.perform(MockMvcRequestBuilders.put("/api/todo/" + id).header(TENANT_HEADER, "globex")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(UPDATE_TODO_BODY)).andReturn();
+        MvcResult delete = mockMvc.perform(MockMvcRequestBuilders.delete("/api/todo/" + id).header(TENANT_HEADER, "globex")).andReturn();
+        MvcResult owner = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/" + id).header(TENANT_HEADER, "acme")).andReturn();
+
+        assertEquals(400, read.getResponse().getStatus());
+        assertEquals(400, update.getResponse().getStatus());
+        assertEquals(400, delete.getResponse().getStatus());
+        assertEquals("Get Pizza", ((Map<?, ?>) successOf(owner)).get("title"));
+    }
+
+    @Test
+    void shouldRejectAMalformedTenantId() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").header(TENANT_HEADER, "../acme")).andReturn();
+
+        assertEquals(400, result.getResponse().getStatus());
+    }
+
+    MvcResult create(String tenant) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post("/api/todo").header(TENANT_HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CREATE_TODO_SUCCESS_BODY)).andReturn();
+    }
+
+    List<?> list(String tenant) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/todo");
+        if (tenant != null) {
+            request.header(TENANT_HEADER, tenant);
+        }
+        return (List<?>) successOf(mockMvc.perform(request).andReturn());
+    }
+
+    Object successOf(MvcResult result) throws Exception {
+        return getFromJsonString(result.getResponse().getContentAsString(), TodoResponse.class).getSuccess();
+    }
+}
@@ -0,0 +1,81 @@
+package com.cm.todoapi.todo.integration;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.response.TodoResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TodoWireFormatIntegrationTest extends TodoIntegrationTest {
+    static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    ObjectMapper cborMapper = binaryMapper(new CBORFactory());
+    ObjectMapper smileMapper = binaryMapper(new SmileFactory());
+
+    @Test
+    void shouldServeTheListAsCborWhenAsked() throws Exception {
+        addTodosForTesting();
+
+        MvcResult json = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo")).andReturn();
+        MvcResult cbor = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo").accept(CBOR)).andReturn();
+
+        assertTrue(json.getResponse().getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE));
+        assertEquals(CBOR.toString(), cbor.getResponse().getContentType());
+        TodoResponse<List<Todo>> decoded = cborMapper.readValue(cbor.getResponse().getContentAsByteArray(), new TypeReference<>() {
+        });
+        assertEquals(5, decoded.getSuccess().size());
+        assertEquals("Clean Room", decoded.getSuccess().get(0).getTitle());
+        assertTrue(cbor.getResponse().getContentAsByteArray().length < json.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void shouldAcceptAndReturnSmile() throws Exception {
+        Todo todo = new Todo(null, "Get Pizza", "Order Pizza from Dominos", false, LocalDate.parse("2020-01-03"));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/api/todo")
+                .contentType(SMILE)
+                .accept(SMILE)
+                .content(smileMapper.writeValueAsBytes(todo))).andReturn();
+
+        assertEquals(200, result.getResponse().getStatus());
+        TodoResponse<Todo> decoded = smileMapper.readValue(result.getResponse().getContentAsByteArray(), new TypeReference<>() {
+        });
+        assertEquals("Get Pizza", decoded.getSuccess().getTitle());
+        assertEquals(LocalDate.parse("2020-01-03"), decoded.getSuccess().getCreatedAt());
+    }
+
+    @Test
+    void shouldFallBackToJsonForUnsupportedFormats() throws Exception {
+        addTodosForTesting();
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/todo/1")
+                .header(HttpHeaders.ACCEPT, "application/xml;q=0.9, application/json;q=0.5")).andReturn();
+
+        assertTrue(result.getResponse().getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE));
+    }
+
+    static ObjectMapper binaryMapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json().factory(factory).featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+}
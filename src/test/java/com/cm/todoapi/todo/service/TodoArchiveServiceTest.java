@@ -0,0 +1,133 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.config.TodoArchiveProperties;
+import com.cm.todoapi.todo.config.TodoCacheConfig;
+import com.cm.todoapi.todo.exceptions.TodoNotFoundException;
+import com.cm.todoapi.todo.model.ArchivedTodo;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoPatch;
+import com.cm.todoapi.todo.repository.ArchivedTodoRepository;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import com.cm.todoapi.todo.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {"todo.archive.batch-size=2", "todo.archive.pause=0s",
+        "todo.archive.deleted-retention=0s", "todo.archive.completed-retention=0s"})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class TodoArchiveServiceTest {
+    @Autowired
+    TodoArchiveService todoArchiveService;
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    TodoArchiveProperties archiveProperties;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Test
+    void shouldSoftDeleteTodos() {
+        Todo todo = todoService.createNewTodo(new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")));
+
+        todoService.deleteTodoById(todo.getId(), null);
+
+        assertThrows(TodoNotFoundException.class, () -> todoService.getTodoById(todo.getId()));
+        assertThrows(TodoNotFoundException.class, () -> todoService.deleteTodoById(todo.getId(), null));
+        assertEquals(0, todoRepository.count());
+        assertNotNull(jdbcTemplate.queryForObject("SELECT deleted_at FROM todo WHERE id = ?", Object.class, todo.getId()));
+    }
+
+    @Test
+    void shouldMoveCompletedAndDeletedTodosToTheArchiveInBatches() {
+        Todo open = todoService.createNewTodo(new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")));
+        Todo deleted = todoService.createNewTodo(new Todo(null, "Watch Movie", "Watch Thor L&T", false, LocalDate.parse("2020-01-02")));
+        todoService.createNewTodo(new Todo(null, "Pay Bills", "Pay Internet Bill", true, LocalDate.parse("2020-01-03")));
+        todoService.createNewTodo(new Todo(null, "Buy Milk", "Two litres", true, LocalDate.parse("2020-01-04")));
+        todoService.deleteTodoById(deleted.getId(), null);
+
+        int moved = todoArchiveService.archive();
+
+        assertEquals(3, moved);
+        assertEquals(List.of(open.getId()), todoRepository.findAll().stream().map(Todo::getId).toList());
+        assertEquals(List.of("Watch Movie", "Pay Bills", "Buy Milk"), archivedTodoRepository.findAll().stream().map(ArchivedTodo::getTitle).toList());
+        assertEquals(3, meterRegistry.get("todo.archive.rows").counter().count());
+        assertEquals(3, meterRegistry.get("todo.archive.run.rows").summary().max());
+    }
+
+    @Test
+    void shouldAgeCompletedTodosFromWhenTheyWereCompleted() {
+        archiveProperties.setCompletedRetention(Duration.ofDays(1));
+        Todo todo = todoService.createNewTodo(new Todo(null, "Pay Bills", "Pay Internet Bill", false, LocalDate.parse("2020-01-01")));
+        todoService.patchTodoById(todo.getId(), new TodoPatch(null, null, true, null), null);
+
+        assertEquals(0, todoArchiveService.archive());
+        assertEquals(1, todoRepository.count());
+        assertNotNull(jdbcTemplate.queryForObject("SELECT completed_at FROM todo WHERE id = ?", Object.class, todo.getId()));
+    }
+
+    @Test
+    void shouldAgeTodosCompletedBeforeCompletionTimesWereRecordedFromTheirCreationDate() {
+        archiveProperties.setCompletedRetention(Duration.ofDays(1));
+        Todo todo = todoService.createNewTodo(new Todo(null, "Pay Bills", "Pay Internet Bill", true, LocalDate.parse("2020-01-01")));
+        jdbcTemplate.update("UPDATE todo SET completed_at = NULL WHERE id = ?", todo.getId());
+
+        assertEquals(1, todoArchiveService.archive());
+        assertEquals(0, todoRepository.count());
+    }
+
+    @Test
+    void shouldClearTheCompletionTimeWhenATodoIsReopened() {
+        Todo todo = todoService.createNewTodo(new Todo(null, "Pay Bills", "Pay Internet Bill", true, LocalDate.parse("2020-01-01")));
+
+        todoService.updateTodoById(todo.getId(), new Todo(null, "Pay Bills", "Pay Internet Bill", false, LocalDate.parse("2020-01-01")), null);
+
+        assertNull(jdbcTemplate.queryForObject("SELECT completed_at FROM todo WHERE id = ?", Object.class, todo.getId()));
+        assertEquals(0, todoArchiveService.archive());
+    }
+
+    @Test
+    void shouldEvictOnlyTheArchivedTodosFromTheCache() {
+        Todo open = todoService.createNewTodo(new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")));
+        Todo completed = todoService.createNewTodo(new Todo(null, "Pay Bills", "Pay Internet Bill", true, LocalDate.parse("2020-01-02")));
+        todoService.getTodoById(open.getId());
+        todoService.getTodoById(completed.getId());
+
+        assertEquals(1, todoArchiveService.archive());
+
+        Cache cache = cacheManager.getCache(TodoCacheConfig.TODO);
+        assertNotNull(cache.get(TenantContext.key(open.getId())));
+        assertNull(cache.get(TenantContext.key(completed.getId())));
+    }
+}
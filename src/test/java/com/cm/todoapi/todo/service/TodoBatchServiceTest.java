@@ -0,0 +1,91 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.exceptions.TodoBatchTooLargeException;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import com.cm.todoapi.todo.response.TodoBatchResult;
+import com.cm.todoapi.todo.response.TodoBatchResult.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {"todo.batch.chunk-size=2", "todo.batch.max-items=5"})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class TodoBatchServiceTest {
+    @Autowired
+    TodoBatchService todoBatchService;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Test
+    void shouldCreateTodosInChunksAndReportInvalidItems() {
+        List<Todo> todos = List.of(
+                new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")),
+                new Todo(null, null, "Watch Thor L&T", false, LocalDate.parse("2020-01-02")),
+                new Todo(null, "Pay Bills", "Pay Internet Bill", true, LocalDate.parse("2020-01-03"))
+        );
+
+        List<TodoBatchResult> results = todoBatchService.createTodos(todos);
+
+        assertEquals(List.of(Status.CREATED, Status.INVALID, Status.CREATED), results.stream().map(TodoBatchResult::getStatus).toList());
+        assertEquals(List.of("Provide a title"), results.get(1).getError());
+        assertEquals(2, todoRepository.count());
+    }
+
+    @Test
+    void shouldUpdateExistingTodosAndReportMissingOnes() {
+        List<Todo> saved = todoRepository.saveAll(List.of(
+                new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")),
+                new Todo(null, "Watch Movie", "Watch Thor L&T", false, LocalDate.parse("2020-01-02"))
+        ));
+        List<Todo> updates = List.of(
+                new Todo(saved.get(0).getId(), "Clean Room", "Arrange the cupboard and sweep the floor", true, LocalDate.parse("2020-01-01")),
+                new Todo(100, "Missing", "Missing", true, LocalDate.parse("2020-01-01")),
+                new Todo(saved.get(1).getId(), "Watch Movie 2", "Watch Thor L&T", false, LocalDate.parse("2020-01-02"))
+        );
+
+        List<TodoBatchResult> results = todoBatchService.updateTodos(updates);
+
+        assertEquals(List.of(Status.UPDATED, Status.NOT_FOUND, Status.UPDATED), results.stream().map(TodoBatchResult::getStatus).toList());
+        assertEquals(true, todoRepository.findById(saved.get(0).getId()).orElseThrow().isCompleted());
+        assertEquals("Watch Movie 2", todoRepository.findById(saved.get(1).getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void shouldDeleteExistingTodosAndReportMissingOnes() {
+        List<Todo> saved = todoRepository.saveAll(List.of(
+                new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")),
+                new Todo(null, "Watch Movie", "Watch Thor L&T", false, LocalDate.parse("2020-01-02"))
+        ));
+
+        List<TodoBatchResult> results = todoBatchService.deleteTodos(Arrays.asList(saved.get(0).getId(), 100, null));
+
+        assertEquals(List.of(Status.DELETED, Status.NOT_FOUND, Status.INVALID), results.stream().map(TodoBatchResult::getStatus).toList());
+        assertEquals(List.of(saved.get(1).getId()), todoRepository.findAll().stream().map(Todo::getId).toList());
+    }
+
+    @Test
+    void shouldRejectBatchesOverTheLimit() {
+        List<Integer> ids = Collections.nCopies(6, 1);
+
+        assertThrows(TodoBatchTooLargeException.class, () -> todoBatchService.deleteTodos(ids));
+    }
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAll();
+    }
+}
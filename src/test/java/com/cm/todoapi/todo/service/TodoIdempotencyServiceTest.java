@@ -0,0 +1,114 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.exceptions.IdempotencyKeyReusedException;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.repository.TodoIdempotencyRecordRepository;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "todo.idempotency.store=database")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class TodoIdempotencyServiceTest {
+    @Autowired
+    TodoIdempotencyService todoIdempotencyService;
+
+    @SpyBean
+    TodoService todoService;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    TodoIdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void shouldReplayTheStoredTodoForARepeatedKey() {
+        TodoIdempotencyService.IdempotentTodo first = todoIdempotencyService.createNewTodo("key-1", newTodo());
+        TodoIdempotencyService.IdempotentTodo second = todoIdempotencyService.createNewTodo("key-1", newTodo());
+
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertEquals(first.todo(), second.todo());
+        assertEquals(first.todo().getVersion(), second.todo().getVersion());
+        assertEquals(1, todoRepository.count());
+        assertEquals(first.todo().getId(), recordRepository.findById("default:key-1").orElseThrow().getTodoId());
+        verify(todoService, times(1)).createNewTodo(any());
+    }
+
+    @Test
+    void shouldRejectAKeyReusedForADifferentTodo() {
+        todoIdempotencyService.createNewTodo("key-1", newTodo());
+        Todo different = newTodo();
+        different.setTitle("Buy Milk");
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> todoIdempotencyService.createNewTodo("key-1", different));
+        assertEquals(1, todoRepository.count());
+    }
+
+    @Test
+    void shouldCoalesceConcurrentRequestsForTheSameKey() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(AopTestUtils.<TodoService>getUltimateTargetObject(todoService)).createNewTodo(any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<TodoIdempotencyService.IdempotentTodo> first = executor.submit(() -> todoIdempotencyService.createNewTodo("key-1", newTodo()));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Future<TodoIdempotencyService.IdempotentTodo> second = executor.submit(() -> todoIdempotencyService.createNewTodo("key-1", newTodo()));
+            awaitUntil(() -> meterRegistry.get("todo.idempotency.requests").tag("result", "coalesced").counter().count() == 1);
+            release.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS).todo().getId(), second.get(5, TimeUnit.SECONDS).todo().getId());
+            assertTrue(second.get().replayed());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, todoRepository.count());
+        verify(todoService, times(1)).createNewTodo(any());
+    }
+
+    static Todo newTodo() {
+        return new Todo(null, "Get Pizza", "Order Pizza from Dominos", false, LocalDate.parse("2020-01-03"));
+    }
+
+    static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
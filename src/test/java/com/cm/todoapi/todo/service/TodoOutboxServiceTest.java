@@ -0,0 +1,80 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.events.InMemoryTodoEventSink;
+import com.cm.todoapi.todo.events.TodoChangedEvent.Type;
+import com.cm.todoapi.todo.exceptions.TodoNotFoundException;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoOutboxEntry;
+import com.cm.todoapi.todo.model.TodoPatch;
+import com.cm.todoapi.todo.repository.TodoOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "todo.outbox.batch-size=2")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class TodoOutboxServiceTest {
+    @Autowired
+    TodoOutboxService todoOutboxService;
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    TodoOutboxRepository todoOutboxRepository;
+
+    @Autowired
+    InMemoryTodoEventSink eventSink;
+
+    @Test
+    void shouldWriteAnOutboxEntryForEveryCommittedChange() {
+        Todo created = todoService.createNewTodo(new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01")));
+        todoService.patchTodoById(created.getId(), new TodoPatch(null, null, true, null), null);
+        todoService.deleteTodoById(created.getId(), null);
+
+        List<TodoOutboxEntry> entries = todoOutboxRepository.findAll();
+
+        assertEquals(List.of(Type.CREATED, Type.UPDATED, Type.DELETED), entries.stream().map(TodoOutboxEntry::getEventType).toList());
+        assertTrue(entries.get(0).getPayload().contains("\"title\":\"Clean Room\""));
+    }
+
+    @Test
+    void shouldWritePayloadsLongerThanTheTodoColumns() {
+        String escaped = "\u0001".repeat(255);
+        todoService.createNewTodo(new Todo(null, escaped, escaped, false, LocalDate.parse("2020-01-01")));
+
+        List<TodoOutboxEntry> entries = todoOutboxRepository.findAll();
+
+        assertEquals(1, entries.size());
+        assertTrue(entries.get(0).getPayload().length() > 2 * 6 * 255);
+    }
+
+    @Test
+    void shouldNotWriteAnOutboxEntryWhenTheChangeRollsBack() {
+        assertThrows(TodoNotFoundException.class, () -> todoService.deleteTodoById(10, null));
+
+        assertEquals(0, todoOutboxRepository.count());
+    }
+
+    @Test
+    void shouldPublishPendingEntriesInBatchesAndRemoveThem() {
+        for (int i = 0; i < 5; i++) {
+            todoService.createNewTodo(new Todo(null, "Todo " + i, "Description " + i, false, LocalDate.parse("2020-01-01")));
+        }
+
+        todoOutboxService.publishPending();
+
+        assertEquals(List.of(1, 2, 3, 4, 5), eventSink.getPublished().stream().map(TodoOutboxEntry::getTodoId).toList());
+        assertEquals(0, todoOutboxRepository.count());
+    }
+}
@@ -1,7 +1,14 @@
 package com.cm.todoapi.todo.service;
 
+import com.cm.todoapi.todo.exceptions.InvalidCursorException;
 import com.cm.todoapi.todo.exceptions.TodoNotFoundException;
+import com.cm.todoapi.todo.exceptions.TodoVersionConflictException;
 import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoCollectionState;
+import com.cm.todoapi.todo.model.TodoFilter;
+import com.cm.todoapi.todo.model.TodoPage;
+import com.cm.todoapi.todo.model.TodoPatch;
+import com.cm.todoapi.todo.model.TodoView;
 import com.cm.todoapi.todo.repository.TodoRepository;
 import com.cm.todoapi.todo.service.TodoService;
 import org.junit.jupiter.api.AfterEach;
@@ -19,6 +26,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
@@ -53,6 +61,63 @@ class TodoServiceTest {
         assertEquals(todoList, actualTodos);
     }
 
+    @Test
+    void shouldGetTodosPageByPageUsingTheCursor() {
+        todoService.createNewTodo(new Todo(null, "Pay Bills", "Pay Internet Bill", true, LocalDate.parse("2020-01-03")));
+
+        TodoPage<TodoView> firstPage = todoService.getTodoPage(new TodoFilter(), null, 2);
+        TodoPage<TodoView> secondPage = todoService.getTodoPage(new TodoFilter(), firstPage.getNextCursor(), 2);
+
+        assertEquals(List.of(1, 2), firstPage.getTodos().stream().map(TodoView::id).toList());
+        assertEquals(List.of(3), secondPage.getTodos().stream().map(TodoView::id).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void shouldFilterTodosByCompletedStatusAndCreatedDate() {
+        todoService.createNewTodo(new Todo(null, "Pay Bills", "Pay Internet Bill", true, LocalDate.parse("2020-01-03")));
+
+        TodoPage<TodoView> completed = todoService.getTodoPage(new TodoFilter(true, null, null), null, null);
+        TodoPage<TodoView> createdOnSecond = todoService.getTodoPage(new TodoFilter(null, LocalDate.parse("2020-01-02"), LocalDate.parse("2020-01-02")), null, null);
+
+        assertEquals(List.of("Pay Bills"), completed.getTodos().stream().map(TodoView::title).toList());
+        assertEquals(List.of("Watch Movie"), createdOnSecond.getTodos().stream().map(TodoView::title).toList());
+    }
+
+    @Test
+    void shouldLeaveDeletedTodosOutOfThePage() {
+        todoService.deleteTodoById(1, null);
+
+        TodoPage<TodoView> page = todoService.getTodoPage(new TodoFilter(), null, null);
+
+        assertEquals(List.of(new TodoView(2, "Watch Movie", "Watch Thor L&T", false, LocalDate.parse("2020-01-02"))), page.getTodos());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCursorIsNotValid() {
+        assertThrows(InvalidCursorException.class, () -> todoService.getTodoPage(new TodoFilter(), "not-a-cursor", null));
+    }
+
+    @Test
+    void shouldRankTitleMatchesAboveDescriptionMatchesWhenSearching() {
+        todoService.createNewTodo(new Todo(null, "Sweep Garage", "Clear the shelves", false, LocalDate.parse("2020-01-03")));
+
+        TodoPage<Todo> firstPage = todoService.searchTodos("sweep", null, 1);
+        TodoPage<Todo> secondPage = todoService.searchTodos("sweep", firstPage.getNextCursor(), 1);
+
+        assertEquals(List.of("Sweep Garage"), firstPage.getTodos().stream().map(Todo::getTitle).toList());
+        assertEquals(List.of("Clean Room"), secondPage.getTodos().stream().map(Todo::getTitle).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void shouldRequireEverySearchTermToMatch() {
+        assertEquals(List.of("Watch Movie"), todoService.searchTodos("watch thor", null, null).getTodos().stream().map(Todo::getTitle).toList());
+        assertEquals(List.of(), todoService.searchTodos("watch room", null, null).getTodos());
+        assertEquals(List.of(), todoService.searchTodos("  ", null, null).getTodos());
+    }
+
     @Test
     void shouldCreateNewTodo() {
         Todo newTodo = new Todo(1, "Clean Room", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"));
@@ -66,7 +131,7 @@ class TodoServiceTest {
     void shouldDeleteATodo() {
         Todo remainingTodo = new Todo(2, "Watch Movie", "Watch Thor L&T", false, LocalDate.parse("2020-01-02"));
 
-        todoService.deleteTodoById(1);
+        todoService.deleteTodoById(1, null);
 
         assertEquals(1, todoRepository.findAll().size());
         assertEquals(remainingTodo, todoRepository.findAll().get(0));
@@ -74,21 +139,65 @@ class TodoServiceTest {
 
     @Test
     void shouldThrowExceptionWhenTodoThatDoesNotExistIsDeleted() {
-        assertThrows(TodoNotFoundException.class, () -> todoService.deleteTodoById(10));
+        assertThrows(TodoNotFoundException.class, () -> todoService.deleteTodoById(10, null));
     }
 
     @Test
     void shouldUpdateATodoById() {
         Todo todo = new Todo(1, "Clean Room 2", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"));
 
-        Todo updatedTodo = todoService.updateTodoById(1,todo);
+        Todo updatedTodo = todoService.updateTodoById(1,todo,null);
 
         assertEquals(todo,updatedTodo);
     }
 
     @Test
     void shouldThrowExceptionWhenTodoThatDoesNotExistIsUpdated() {
-        assertThrows(TodoNotFoundException.class, () -> todoService.updateTodoById(10,new Todo()));
+        assertThrows(TodoNotFoundException.class, () -> todoService.updateTodoById(10,new Todo(),null));
+    }
+
+    @Test
+    void shouldOnlyChangeTheGivenFieldsWhenPatchingATodo() {
+        Todo expected = new Todo(2, "Watch Movie", "Watch Thor L&T", true, LocalDate.parse("2020-01-02"));
+
+        Todo patchedTodo = todoService.patchTodoById(2, new TodoPatch(null, null, true, null), null);
+
+        assertEquals(expected, patchedTodo);
+        assertEquals(expected, todoRepository.findById(2).orElseThrow());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenTodoThatDoesNotExistIsPatched() {
+        assertThrows(TodoNotFoundException.class, () -> todoService.patchTodoById(10, new TodoPatch("Title", null, null, null), null));
+    }
+
+    @Test
+    void shouldIncrementVersionWhenExpectedVersionMatches() {
+        Todo todo = new Todo(1, "Clean Room 2", "Arrange the cupboard and sweep the floor", false, LocalDate.parse("2020-01-01"));
+
+        Todo updatedTodo = todoService.updateTodoById(1, todo, 0L);
+
+        assertEquals(1L, updatedTodo.getVersion());
+        assertEquals(1L, todoRepository.findById(1).orElseThrow().getVersion());
+    }
+
+    @Test
+    void shouldThrowConflictWhenExpectedVersionIsStale() {
+        todoService.patchTodoById(1, new TodoPatch("Clean Room 2", null, null, null), 0L);
+
+        assertThrows(TodoVersionConflictException.class, () -> todoService.patchTodoById(1, new TodoPatch("Clean Room 3", null, null, null), 0L));
+        assertThrows(TodoVersionConflictException.class, () -> todoService.deleteTodoById(1, 0L));
+        assertEquals("Clean Room 2", todoRepository.findById(1).orElseThrow().getTitle());
+    }
+
+    @Test
+    void shouldChangeCollectionStateWhenATodoIsUpdated() {
+        TodoCollectionState before = todoService.getCollectionState();
+
+        todoService.patchTodoById(2, new TodoPatch(null, null, true, null), null);
+
+        assertEquals(new TodoCollectionState(2L, 2, 0L), before);
+        assertEquals(new TodoCollectionState(2L, 2, 1L), todoService.getCollectionState());
     }
 
     @AfterEach
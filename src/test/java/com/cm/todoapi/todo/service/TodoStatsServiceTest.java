@@ -0,0 +1,93 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoPatch;
+import com.cm.todoapi.todo.model.TodoStats;
+import com.cm.todoapi.todo.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class TodoStatsServiceTest {
+    static final LocalDate FIRST = LocalDate.parse("2020-01-01");
+    static final LocalDate SECOND = LocalDate.parse("2020-01-02");
+
+    @Autowired
+    TodoStatsService todoStatsService;
+
+    @Autowired
+    TodoService todoService;
+
+    @SpyBean
+    TodoRepository todoRepository;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.saveAll(List.of(
+                new Todo(null, "Clean Room", "Arrange the cupboard and sweep the floor", false, FIRST),
+                new Todo(null, "Watch Movie", "Watch Thor L&T", true, SECOND),
+                new Todo(null, "Pay Bills", "Pay Internet Bill", false, SECOND)
+        ));
+    }
+
+    @Test
+    void shouldCountOpenCompletedAndPerDayTodos() {
+        TodoStats stats = todoStatsService.getStats(null, null);
+
+        assertEquals(new TodoStats(2, 1, Map.of(FIRST, 1L, SECOND, 2L)), stats);
+        assertEquals(Map.of(SECOND, 2L), todoStatsService.getStats(SECOND, null).getCreatedPerDay());
+    }
+
+    @Test
+    void shouldAdjustTheCountsOnEveryWrite() {
+        todoStatsService.getStats(null, null);
+
+        Todo created = todoService.createNewTodo(new Todo(null, "Buy Milk", "Two litres", false, FIRST));
+        todoService.patchTodoById(created.getId(), new TodoPatch(null, null, true, SECOND), null);
+        todoService.deleteTodoById(1, null);
+
+        assertEquals(new TodoStats(1, 2, Map.of(SECOND, 3L)), todoStatsService.getStats(null, null));
+    }
+
+    @Test
+    void shouldCorrectWritesThatBypassTheServiceOnReconcile() {
+        todoStatsService.getStats(null, null);
+        todoRepository.save(new Todo(null, "Buy Milk", "Two litres", true, FIRST));
+
+        assertEquals(1, todoStatsService.getStats(null, null).getCompleted());
+        assertEquals(1, todoStatsService.reconcile());
+        assertEquals(new TodoStats(2, 2, Map.of(FIRST, 2L, SECOND, 2L)), todoStatsService.getStats(null, null));
+        assertEquals(0, todoStatsService.reconcile());
+    }
+
+    @Test
+    void shouldKeepWritesCommittedWhileReconciling() {
+        todoStatsService.getStats(null, null);
+        Answer<?> repository = mockingDetails(todoRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object counts = repository.answer(invocation);
+            todoService.createNewTodo(new Todo(null, "Buy Milk", "Two litres", false, FIRST));
+            return counts;
+        }).when(todoRepository).countByDay(anyString());
+
+        assertEquals(0, todoStatsService.reconcile());
+        assertEquals(new TodoStats(3, 1, Map.of(FIRST, 2L, SECOND, 2L)), todoStatsService.getStats(null, null));
+    }
+}
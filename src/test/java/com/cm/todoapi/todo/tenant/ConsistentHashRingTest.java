@@ -0,0 +1,50 @@
+package com.cm.todoapi.todo.tenant;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+    static final List<String> TENANTS = IntStream.range(0, 10_000).mapToObj(i -> "tenant-" + i).toList();
+
+    @Test
+    void shouldAlwaysSendATenantToTheSameShard() {
+        ConsistentHashRing first = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing second = new ConsistentHashRing(List.of("c", "a", "b"), 128);
+
+        TENANTS.forEach(tenant -> assertEquals(first.locate(tenant), second.locate(tenant)));
+    }
+
+    @Test
+    void shouldSpreadTenantsEvenlyAcrossShards() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+        Map<String, Integer> perShard = new HashMap<>();
+        TENANTS.forEach(tenant -> perShard.merge(ring.locate(tenant), 1, Integer::sum));
+
+        assertEquals(4, perShard.size());
+        perShard.values().forEach(count -> assertTrue(count > 2000 && count < 3000, "Uneven shard size " + count));
+    }
+
+    @Test
+    void shouldOnlyMoveTenantsToAnAddedShard() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+        long moved = 0;
+        for (String tenant : TENANTS) {
+            String shard = after.locate(tenant);
+            if (!shard.equals(before.locate(tenant))) {
+                assertEquals("d", shard);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1500 && moved < 3500, "Moved " + moved + " tenants");
+    }
+}
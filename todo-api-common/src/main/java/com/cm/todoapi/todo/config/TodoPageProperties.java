@@ -0,0 +1,13 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.page")
+public class TodoPageProperties {
+    private int defaultSize = 50;
+    private int maxSize = 500;
+}
@@ -0,0 +1,20 @@
+package com.cm.todoapi.todo.model;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TodoFilter {
+    private Boolean completed;
+    private LocalDate createdFrom;
+    private LocalDate createdTo;
+
+    public boolean isEmpty() {
+        return completed == null && createdFrom == null && createdTo == null;
+    }
+}
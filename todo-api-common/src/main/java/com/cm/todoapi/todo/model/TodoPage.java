@@ -0,0 +1,14 @@
+package com.cm.todoapi.todo.model;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TodoPage<T> {
+    private List<T> todos;
+    private String nextCursor;
+}
@@ -0,0 +1,47 @@
+package com.cm.todoapi.todo.response;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * The error half of a {@link TodoResponse}. A single message is written as a JSON string and a list
+ * of validation messages as an array, the two shapes clients have always received.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+@EqualsAndHashCode
+public final class TodoError {
+    private final String message;
+    private final List<String> messages;
+
+    public static TodoError of(String message) {
+        return new TodoError(message, null);
+    }
+
+    public static TodoError of(List<String> messages) {
+        return new TodoError(null, List.copyOf(messages));
+    }
+
+    public List<String> getMessages() {
+        return message != null ? List.of(message) : messages;
+    }
+
+    @JsonValue
+    Object toJson() {
+        return message != null ? message : messages;
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    static TodoError fromJson(Object json) {
+        if (json instanceof List<?> list) {
+            return of(list.stream().map(String::valueOf).toList());
+        }
+        return of(String.valueOf(json));
+    }
+}
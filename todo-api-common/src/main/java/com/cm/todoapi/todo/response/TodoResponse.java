@@ -8,7 +8,7 @@ import lombok.*;
 @NoArgsConstructor
 @ToString
 @EqualsAndHashCode
-public class TodoResponse {
-    Object success;
-    Object error;
+public class TodoResponse<T> {
+    T success;
+    TodoError error;
 }
@@ -0,0 +1,15 @@
+package com.cm.todoapi;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan
+public class ReactiveTodoApiApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveTodoApiApplication.class, args);
+    }
+
+}
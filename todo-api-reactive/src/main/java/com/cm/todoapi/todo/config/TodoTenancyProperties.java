@@ -0,0 +1,12 @@
+package com.cm.todoapi.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.tenancy")
+public class TodoTenancyProperties {
+    private String header = "X-Tenant-Id";
+}
@@ -0,0 +1,73 @@
+package com.cm.todoapi.todo.controller;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoFilter;
+import com.cm.todoapi.todo.response.TodoResponse;
+import com.cm.todoapi.todo.service.ReactiveTodoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/api/todo")
+public class ReactiveTodoController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ReactiveTodoService todoService;
+
+    @Autowired
+    public ReactiveTodoController(ReactiveTodoService todoService) {
+        this.todoService = todoService;
+    }
+
+    @GetMapping
+    Mono<ResponseEntity<TodoResponse<List<Todo>>>> getAllTodos(@RequestParam(required = false) Boolean completed,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size){
+        return todoService.getTodoPage(new TodoFilter(completed, createdFrom, createdTo), cursor, size).map(page -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if(page.getNextCursor() != null){
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(new TodoResponse<>(page.getTodos(),null));
+        });
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    Flux<Todo> streamAllTodos(@RequestParam(required = false) Boolean completed,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo){
+        return todoService.streamTodos(new TodoFilter(completed, createdFrom, createdTo));
+    }
+
+    @GetMapping(path = "{id}")
+    Mono<ResponseEntity<TodoResponse<Todo>>> getATodoById(@PathVariable Integer id){
+        return todoService.getTodoById(id).map(todo -> ResponseEntity.ok(new TodoResponse<>(todo,null)));
+    }
+
+    @PostMapping
+    Mono<ResponseEntity<TodoResponse<Todo>>> createNewTodo(@Valid @RequestBody Todo newTodo){
+        return todoService.createNewTodo(newTodo).map(todo -> ResponseEntity.ok(new TodoResponse<>(todo,null)));
+    }
+
+    @DeleteMapping(path = "{id}")
+    Mono<ResponseEntity<TodoResponse<String>>> deleteATodoById(@PathVariable Integer id){
+        return todoService.deleteTodoById(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(new TodoResponse<>("Successfully deleted 1 todo",null))));
+    }
+
+    @PutMapping(path = "{id}")
+    Mono<ResponseEntity<TodoResponse<Todo>>> updateATodoById(@PathVariable Integer id,@RequestBody Todo todo){
+        return todoService.updateTodoById(id,todo).map(updated -> ResponseEntity.ok(new TodoResponse<>(updated,null)));
+    }
+}
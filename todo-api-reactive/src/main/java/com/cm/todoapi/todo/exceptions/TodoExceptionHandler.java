@@ -0,0 +1,32 @@
+package com.cm.todoapi.todo.exceptions;
+
+import com.cm.todoapi.todo.response.TodoError;
+import com.cm.todoapi.todo.response.TodoResponse;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.List;
+
+@ControllerAdvice
+public class TodoExceptionHandler {
+
+    @ExceptionHandler(TodoNotFoundException.class)
+    ResponseEntity<TodoResponse<Void>> handleTodoNotFoundException(TodoNotFoundException exception){
+        return ResponseEntity.badRequest().body(new TodoResponse<>(null,TodoError.of(exception.getMessage())));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    ResponseEntity<TodoResponse<Void>> handleInvalidCursorException(InvalidCursorException exception){
+        return ResponseEntity.badRequest().body(new TodoResponse<>(null,TodoError.of(exception.getMessage())));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    ResponseEntity<TodoResponse<Void>> handleWebExchangeBindException(WebExchangeBindException exception){
+        List<String> errors = exception.getAllErrors().stream().map(DefaultMessageSourceResolvable::getDefaultMessage).toList();
+        return ResponseEntity.unprocessableEntity().body(new TodoResponse<>(null,TodoError.of(errors)));
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.cm.todoapi.todo.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Table("todo")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+public class Todo {
+    @Id
+    private Integer id;
+    @NotNull(message = "Provide a title")
+    private String title;
+    @NotNull(message = "Provide a description")
+    private String description;
+    @NotNull(message = "Provide a completed status")
+    private boolean completed;
+    @NotNull(message = "Provide a created date")
+    private LocalDate createdAt;
+    @Version
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private LocalDateTime deletedAt;
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private LocalDateTime completedAt;
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String ownerId;
+
+    public void stampCompletion() {
+        if (!completed) {
+            completedAt = null;
+        } else if (completedAt == null) {
+            completedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.cm.todoapi.todo.repository;
+
+import com.cm.todoapi.todo.model.Todo;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveTodoRepository extends ReactiveCrudRepository<Todo,Integer>, ReactiveTodoRepositoryCustom {
+    @Query("SELECT * FROM todo WHERE owner_id = :ownerId AND id = :id AND deleted_at IS NULL")
+    Mono<Todo> findLiveById(String ownerId, Integer id);
+
+    @Modifying
+    @Query("UPDATE todo SET deleted_at = CURRENT_TIMESTAMP, version = version + 1 WHERE owner_id = :ownerId AND id = :id AND deleted_at IS NULL")
+    Mono<Integer> softDeleteById(String ownerId, Integer id);
+}
@@ -0,0 +1,11 @@
+package com.cm.todoapi.todo.repository;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoFilter;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveTodoRepositoryCustom {
+    Flux<Todo> findPage(String ownerId, TodoFilter filter, Integer afterId, int limit);
+
+    Flux<Todo> findAllMatching(String ownerId, TodoFilter filter);
+}
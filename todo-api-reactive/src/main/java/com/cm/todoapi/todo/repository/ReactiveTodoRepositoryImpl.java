@@ -0,0 +1,50 @@
+package com.cm.todoapi.todo.repository;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoFilter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+public class ReactiveTodoRepositoryImpl implements ReactiveTodoRepositoryCustom {
+
+    private final R2dbcEntityTemplate template;
+
+    public ReactiveTodoRepositoryImpl(R2dbcEntityTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public Flux<Todo> findPage(String ownerId, TodoFilter filter, Integer afterId, int limit) {
+        Criteria criteria = criteriaFor(ownerId, filter);
+        if (afterId != null) {
+            criteria = criteria.and("id").greaterThan(afterId);
+        }
+        return template.select(Todo.class)
+                .matching(Query.query(criteria).sort(Sort.by("id")).limit(limit))
+                .all();
+    }
+
+    @Override
+    public Flux<Todo> findAllMatching(String ownerId, TodoFilter filter) {
+        return template.select(Todo.class)
+                .matching(Query.query(criteriaFor(ownerId, filter)).sort(Sort.by("id")))
+                .all();
+    }
+
+    private Criteria criteriaFor(String ownerId, TodoFilter filter) {
+        Criteria criteria = Criteria.where("ownerId").is(ownerId).and("deletedAt").isNull();
+        if (filter.getCompleted() != null) {
+            criteria = criteria.and("completed").is(filter.getCompleted());
+        }
+        if (filter.getCreatedFrom() != null) {
+            criteria = criteria.and("createdAt").greaterThanOrEquals(filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            criteria = criteria.and("createdAt").lessThanOrEquals(filter.getCreatedTo());
+        }
+        return criteria;
+    }
+}
@@ -0,0 +1,91 @@
+package com.cm.todoapi.todo.service;
+
+import com.cm.todoapi.todo.config.TodoPageProperties;
+import com.cm.todoapi.todo.exceptions.TodoNotFoundException;
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.model.TodoFilter;
+import com.cm.todoapi.todo.model.TodoPage;
+import com.cm.todoapi.todo.repository.ReactiveTodoRepository;
+import com.cm.todoapi.todo.tenant.ReactiveTenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of the servlet {@code TodoService} for reads and single todo writes.
+ * <p>
+ * Writes here publish no {@code TodoChangedEvent}. The outbox, the {@code /api/todo/changes} feed
+ * and the stats counters are part of the servlet application, so a todo written through this
+ * module gets no outbox entry and no feed message. Servlet nodes sharing the database only see it
+ * in their stats after the next {@code todo.stats.reconcile-interval}.
+ */
+@Service
+public class ReactiveTodoService {
+    ReactiveTodoRepository todoRepository;
+    TodoPageProperties pageProperties;
+
+    @Autowired
+    public ReactiveTodoService(ReactiveTodoRepository todoRepository, TodoPageProperties pageProperties) {
+        this.todoRepository = todoRepository;
+        this.pageProperties = pageProperties;
+    }
+
+    public Flux<Todo> streamTodos(TodoFilter filter) {
+        return ReactiveTenantContext.current().flatMapMany(tenant -> todoRepository.findAllMatching(tenant, filter));
+    }
+
+    public Mono<TodoPage<Todo>> getTodoPage(TodoFilter filter, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Integer afterId = TodoCursor.decode(cursor);
+        return ReactiveTenantContext.current()
+                .flatMap(tenant -> todoRepository.findPage(tenant, filter, afterId, pageSize + 1).collectList())
+                .map(todos -> {
+                    if (todos.size() <= pageSize) {
+                        return new TodoPage<>(todos, null);
+                    }
+                    List<Todo> page = todos.subList(0, pageSize);
+                    return new TodoPage<>(List.copyOf(page), TodoCursor.encode(page.get(pageSize - 1).getId()));
+                });
+    }
+
+    public Mono<Todo> getTodoById(Integer id) {
+        return ReactiveTenantContext.current()
+                .flatMap(tenant -> todoRepository.findLiveById(tenant, id))
+                .switchIfEmpty(Mono.error(() -> new TodoNotFoundException(id)));
+    }
+
+    public Mono<Todo> createNewTodo(Todo newTodo) {
+        newTodo.setId(null);
+        newTodo.setVersion(null);
+        newTodo.setCompletedAt(null);
+        newTodo.stampCompletion();
+        return todoRepository.save(newTodo);
+    }
+
+    public Mono<Void> deleteTodoById(Integer id) {
+        return ReactiveTenantContext.current()
+                .flatMap(tenant -> todoRepository.softDeleteById(tenant, id))
+                .flatMap(deleted -> deleted == 0 ? Mono.error(new TodoNotFoundException(id)) : Mono.empty());
+    }
+
+    public Mono<Todo> updateTodoById(Integer id, Todo todo) {
+        return getTodoById(id).flatMap(existing -> {
+            existing.setTitle(todo.getTitle());
+            existing.setDescription(todo.getDescription());
+            existing.setCompleted(todo.isCompleted());
+            existing.setCreatedAt(todo.getCreatedAt());
+            existing.stampCompletion();
+            return todoRepository.save(existing);
+        });
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return pageProperties.getDefaultSize();
+        }
+        return Math.min(size, pageProperties.getMaxSize());
+    }
+}
@@ -0,0 +1,26 @@
+package com.cm.todoapi.todo.tenant;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * The tenant a request works for, carried in the Reactor context rather than a thread local since
+ * a reactive request hops threads. {@link TenantWebFilter} writes it, subscriptions without one
+ * act for {@value #DEFAULT_TENANT} like the servlet application does.
+ */
+public final class ReactiveTenantContext {
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final Class<ReactiveTenantContext> KEY = ReactiveTenantContext.class;
+
+    private ReactiveTenantContext() {
+    }
+
+    public static Mono<String> current() {
+        return Mono.deferContextual(context -> Mono.just(context.getOrDefault(KEY, DEFAULT_TENANT)));
+    }
+
+    public static Context with(String tenant) {
+        return Context.of(KEY, tenant);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cm.todoapi.todo.tenant;
+
+import com.cm.todoapi.todo.config.TodoTenancyProperties;
+import com.cm.todoapi.todo.response.TodoError;
+import com.cm.todoapi.todo.response.TodoResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.regex.Pattern;
+
+/**
+ * Binds the tenant named in the {@code todo.tenancy.header} header to the request's Reactor context.
+ * Requests without the header act for {@value ReactiveTenantContext#DEFAULT_TENANT}, malformed ids
+ * get 400.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class TenantWebFilter implements WebFilter {
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]{0,63}");
+
+    private final String header;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TenantWebFilter(TodoTenancyProperties properties, ObjectMapper objectMapper) {
+        this.header = properties.getHeader();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String tenant = exchange.getRequest().getHeaders().getFirst(header);
+        if (tenant == null || tenant.isBlank()) {
+            tenant = ReactiveTenantContext.DEFAULT_TENANT;
+        } else if (!TENANT_ID.matcher(tenant).matches()) {
+            return reject(exchange.getResponse());
+        }
+        return chain.filter(exchange).contextWrite(ReactiveTenantContext.with(tenant));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new TodoResponse<>(null, TodoError.of("Provide a valid " + header + " header")));
+        } catch (JsonProcessingException exception) {
+            return Mono.error(exception);
+        }
+        response.setStatusCode(HttpStatus.BAD_REQUEST);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
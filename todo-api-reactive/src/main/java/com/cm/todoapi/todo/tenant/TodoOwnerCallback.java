@@ -0,0 +1,23 @@
+package com.cm.todoapi.todo.tenant;
+
+import com.cm.todoapi.todo.model.Todo;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+public class TodoOwnerCallback implements BeforeConvertCallback<Todo> {
+
+    @Override
+    public Publisher<Todo> onBeforeConvert(Todo todo, SqlIdentifier table) {
+        if (todo.getOwnerId() != null) {
+            return Mono.just(todo);
+        }
+        return ReactiveTenantContext.current().map(tenant -> {
+            todo.setOwnerId(tenant);
+            return todo;
+        });
+    }
+}
@@ -0,0 +1,227 @@
+package com.cm.todoapi.todo.integration;
+
+import com.cm.todoapi.todo.model.Todo;
+import com.cm.todoapi.todo.repository.ReactiveTodoRepository;
+import com.cm.todoapi.todo.response.TodoResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@Testcontainers(disabledWithoutDocker = true)
+class ReactiveTodoIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + POSTGRES.getHost() + ":" + POSTGRES.getFirstMappedPort() + "/" + POSTGRES.getDatabaseName());
+        registry.add("spring.r2dbc.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.flyway.user", POSTGRES::getUsername);
+        registry.add("spring.flyway.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private ReactiveTodoRepository todoRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    final String BASE_DIR_JSON = "../src/test/resources/integration/";
+
+    final String CREATE_TODO_SUCCESS_BODY = """
+                {
+                    "title": "Get Pizza",
+                    "description": "Order Pizza from Dominos",
+                    "completed": false,
+                    "createdAt": "2020-01-03"
+                }
+                """;
+
+    final String CREATE_TODO_FAILURE_BODY = """
+                {
+                    "description": "Order Pizza from Dominos",
+                    "completed": false,
+                    "createdAt": "2020-01-03"
+                }
+                """;
+
+    final String UPDATE_TODO_BODY = """
+                {
+                    "title": "Clean Room",
+                    "description": "Organize and sweep the room",
+                    "completed": true,
+                    "createdAt": "2022-06-27"
+                }
+                """;
+
+    @BeforeEach
+    void clearTodos() {
+        databaseClient.sql("TRUNCATE todo, todo_archive").then()
+                .then(databaseClient.sql("ALTER SEQUENCE todo_seq RESTART").then())
+                .block();
+    }
+
+    @Test
+    void shouldSuccessfullyGetAllTodos() throws Exception {
+        TodoResponse expectedResponse = getFromJsonFile("GetTodoSuccessResponse.json", TodoResponse.class);
+        addTodosForTesting();
+
+        EntityExchangeResult<String> result = webTestClient.get().uri("/api/todo").exchange().expectBody(String.class).returnResult();
+
+        assertEquals(200,result.getStatus().value());
+        assertEquals(expectedResponse,getFromJsonString(result.getResponseBody(),TodoResponse.class));
+    }
+
+    @Test
+    void shouldStreamAllTodosAsNdjson() throws Exception {
+        addTodosForTesting();
+
+        StepVerifier.create(webTestClient.get().uri("/api/todo").accept(MediaType.APPLICATION_NDJSON)
+                        .exchange()
+                        .returnResult(Todo.class)
+                        .getResponseBody()
+                        .map(Todo::getId), 2)
+                .expectNext(1, 2)
+                .thenRequest(3)
+                .expectNext(3, 4, 5)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldSuccessfullyCreateNewTodo() throws Exception {
+        TodoResponse expectedResponse = getFromJsonFile("CreateTodoSuccessResponse.json", TodoResponse.class);
+
+        EntityExchangeResult<String> result = webTestClient.post().uri("/api/todo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(CREATE_TODO_SUCCESS_BODY)
+                .exchange().expectBody(String.class).returnResult();
+
+        assertEquals(200,result.getStatus().value());
+        assertEquals(expectedResponse,getFromJsonString(result.getResponseBody(),TodoResponse.class));
+    }
+
+    @Test
+    void shouldReturnErrorWhenInvalidDetailsAreGivenToCreateNewTodo() throws Exception {
+        TodoResponse expectedResponse = getFromJsonFile("CreateTodoFailureResponse.json", TodoResponse.class);
+
+        EntityExchangeResult<String> result = webTestClient.post().uri("/api/todo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(CREATE_TODO_FAILURE_BODY)
+                .exchange().expectBody(String.class).returnResult();
+
+        assertEquals(422,result.getStatus().value());
+        assertEquals(expectedResponse,getFromJsonString(result.getResponseBody(),TodoResponse.class));
+    }
+
+    @Test
+    void shouldSuccessfullyUpdateATodo() throws Exception {
+        TodoResponse expectedResponse = getFromJsonFile("UpdateTodoSuccessResponse.json", TodoResponse.class);
+        addTodosForTesting();
+
+        EntityExchangeResult<String> result = webTestClient.put().uri("/api/todo/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(UPDATE_TODO_BODY)
+                .exchange().expectBody(String.class).returnResult();
+
+        assertEquals(200,result.getStatus().value());
+        assertEquals(expectedResponse,getFromJsonString(result.getResponseBody(),TodoResponse.class));
+    }
+
+    @Test
+    void shouldReturnErrorWhenTodoThatDoesNotExistIsUpdated() throws Exception {
+        TodoResponse expectedResponse = getFromJsonFile("UpdateOrDeleteTodoFailureResponse.json", TodoResponse.class);
+
+        EntityExchangeResult<String> result = webTestClient.put().uri("/api/todo/100")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(UPDATE_TODO_BODY)
+                .exchange().expectBody(String.class).returnResult();
+
+        assertEquals(400,result.getStatus().value());
+        assertEquals(expectedResponse,getFromJsonString(result.getResponseBody(),TodoResponse.class));
+    }
+
+    @Test
+    void shouldSuccessfullyDeleteTodo() throws Exception {
+        TodoResponse expectedResponse = getFromJsonFile("DeleteTodoSuccessResponse.json", TodoResponse.class);
+        addTodosForTesting();
+
+        EntityExchangeResult<String> result = webTestClient.delete().uri("/api/todo/1")
+                .exchange().expectBody(String.class).returnResult();
+
+        assertEquals(200,result.getStatus().value());
+        assertEquals(expectedResponse,getFromJsonString(result.getResponseBody(),TodoResponse.class));
+    }
+
+    @Test
+    void shouldReturnErrorWhenTodoThatDoesNotExistIsDeleted() throws Exception {
+        TodoResponse expectedResponse = getFromJsonFile("UpdateOrDeleteTodoFailureResponse.json", TodoResponse.class);
+
+        EntityExchangeResult<String> result = webTestClient.delete().uri("/api/todo/100")
+                .exchange().expectBody(String.class).returnResult();
+
+        assertEquals(400,result.getStatus().value());
+        assertEquals(expectedResponse,getFromJsonString(result.getResponseBody(),TodoResponse.class));
+    }
+
+    @Test
+    void shouldKeepOtherTenantsTodosOutOfReach() throws Exception {
+        addTodosForTesting();
+
+        webTestClient.get().uri("/api/todo").header("X-Tenant-Id", "acme").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.success").isEmpty();
+        webTestClient.get().uri("/api/todo/1").header("X-Tenant-Id", "acme").exchange().expectStatus().isBadRequest();
+        webTestClient.delete().uri("/api/todo/1").header("X-Tenant-Id", "acme").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/todo/1").exchange().expectStatus().isOk();
+    }
+
+    @Test
+    void shouldRejectAMalformedTenantId() {
+        webTestClient.get().uri("/api/todo").header("X-Tenant-Id", "../acme").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Provide a valid X-Tenant-Id header");
+    }
+
+    void addTodosForTesting() throws Exception {
+        List<Todo> todos = Arrays.asList(getFromJsonFile("Todos.json",Todo[].class));
+        for (int i = 0; i < todos.size(); i++) {
+            todos.get(i).setId(i + 1);
+        }
+        todoRepository.saveAll(todos).blockLast();
+    }
+
+    protected <T> T getFromJsonFile(String fileName,Class<T> type) throws Exception {
+        return objectMapper.readValue(Paths.get(BASE_DIR_JSON+fileName).toFile(),type);
+    }
+
+    protected <T> T getFromJsonString(String jsonString,Class<T> type) throws Exception{
+        return objectMapper.readValue(jsonString,type);
+    }
+}